@@ -1,6 +1,11 @@
 package org.example;
 
 import org.example.objects.PetriNet;
+import org.example.services.AnalysisMetrics;
+import org.example.services.AnalysisPhase;
+import org.example.services.Counterexample;
+import org.example.services.InheritanceResult;
+import org.example.services.InheritanceAnalysisMonitor;
 import org.example.services.PetriNetUtils;
 
 import javax.swing.*;
@@ -16,11 +21,13 @@ public class EnhancedPetriNetInheritanceApp {
     private JTextField parentField;
     private JTextField childField;
     private JLabel resultLabel;
+    private JTextArea detailsArea;
 
     private File parentFile;
     private File childFile;
 
     public static void main(String[] args) {
+        InheritanceAnalysisMonitor.register();
         SwingUtilities.invokeLater(EnhancedPetriNetInheritanceApp::new);
     }
 
@@ -115,6 +122,15 @@ public class EnhancedPetriNetInheritanceApp {
         gbc.fill = GridBagConstraints.HORIZONTAL;
         content.add(resultLabel, gbc);
 
+        // ---- Details (counterexamples, metrics) ----------------------------
+        detailsArea = new JTextArea();
+        detailsArea.setEditable(false);
+        detailsArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        gbc.gridy = 5;
+        gbc.weighty = 1;
+        gbc.fill = GridBagConstraints.BOTH;
+        content.add(new JScrollPane(detailsArea), gbc);
+
         frame.setContentPane(content);
         frame.setVisible(true);
     }
@@ -146,13 +162,34 @@ public class EnhancedPetriNetInheritanceApp {
             return;
         }
         try {
-            PetriNet parent = PetriNetUtils.loadPetriNet(parentFile);
-            PetriNet child = PetriNetUtils.loadPetriNet(childFile);
-            String result = determineInheritanceType(parent, child);
-            resultLabel.setText("Result: " + result);
+            AnalysisMetrics metrics = new AnalysisMetrics();
+            PetriNet parent = metrics.time(AnalysisPhase.PARSE, () -> PetriNetUtils.loadPetriNet(parentFile));
+            PetriNet child = metrics.time(AnalysisPhase.PARSE, () -> PetriNetUtils.loadPetriNet(childFile));
+            InheritanceResult result = determineInheritanceType(parent, child, metrics);
+            resultLabel.setText("Result: " + result.getVerdict());
+            detailsArea.setText(describe(result));
+            detailsArea.setCaretPosition(0);
         } catch (Exception ex) {
             resultLabel.setText("No inheritance");
+            detailsArea.setText(String.valueOf(ex.getMessage()));
             ex.printStackTrace();
         }
     }
+
+    private String describe(InheritanceResult result) {
+        StringBuilder sb = new StringBuilder();
+        appendCounterexample(sb, "Protocol inheritance", result.getProtocolCounterexample());
+        appendCounterexample(sb, "Projection inheritance", result.getProjectionCounterexample());
+        sb.append("Parent net: ").append(result.getParentSoundness()).append(System.lineSeparator());
+        sb.append("Child net: ").append(result.getChildSoundness()).append(System.lineSeparator());
+        sb.append(System.lineSeparator());
+        sb.append("Metrics: ").append(result.getMetrics());
+        return sb.toString();
+    }
+
+    private void appendCounterexample(StringBuilder sb, String check, Counterexample counterexample) {
+        sb.append(check).append(": ");
+        sb.append(counterexample == null ? "holds" : "fails – " + counterexample);
+        sb.append(System.lineSeparator()).append(System.lineSeparator());
+    }
 }
@@ -0,0 +1,240 @@
+package org.example.server;
+
+import org.example.objects.PetriNet;
+import org.example.services.AnalysisMetrics;
+import org.example.services.AnalysisPhase;
+import org.example.services.InheritanceResult;
+import org.example.services.PetriNetUtils;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Spúšťa analýzy dedenia pre HTTP službu:
+ * <ul>
+ *     <li>súčasne beží najviac {@code maxConcurrent} analýz, ďalšie čakajú vo fronte
+ *         (najviac {@code maxQueued} čakajúcich, potom sa požiadavka odmietne),</li>
+ *     <li>rovnaké požiadavky, ktoré práve bežia, zdieľajú jeden výpočet,</li>
+ *     <li>hotové výsledky sa cachujú podľa SHA-256 obsahu oboch sietí (LRU).</li>
+ * </ul>
+ * Úlohy bežia na virtuálnych vláknach, ak ich JVM poskytuje (Java 21+), inak na pevnom počte
+ * {@code maxConcurrent} bežných vlákien s frontom obmedzeným na {@code maxQueued} úloh.
+ */
+public class AnalysisService implements AutoCloseable {
+
+    /** Výsledok spolu s informáciou, či pochádza z cache. */
+    public static final class Outcome {
+        private final String key;
+        private final InheritanceResult result;
+        private final boolean cached;
+
+        Outcome(String key, InheritanceResult result, boolean cached) {
+            this.key = key;
+            this.result = result;
+            this.cached = cached;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public InheritanceResult getResult() {
+            return result;
+        }
+
+        public boolean isCached() {
+            return cached;
+        }
+    }
+
+    /** Samotný výpočet nad obsahom oboch sietí; testy ho nahrádzajú, aby nezáviseli od parsera. */
+    @FunctionalInterface
+    interface Analysis {
+        InheritanceResult analyze(byte[] parentXml, byte[] childXml) throws Exception;
+    }
+
+    private final ExecutorService executor;
+    private final Analysis analysis;
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    /** Prijaté a ešte nedokončené analýzy – bežiace aj čakajúce. */
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Map<String, CompletableFuture<InheritanceResult>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, InheritanceResult> cache;
+
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong deduplicated = new AtomicLong();
+    private final AtomicLong analyses = new AtomicLong();
+
+    public AnalysisService(int maxConcurrent, int maxQueued, int cacheSize) {
+        this(maxConcurrent, maxQueued, cacheSize, AnalysisService::parseAndAnalyze);
+    }
+
+    AnalysisService(int maxConcurrent, int maxQueued, int cacheSize, Analysis analysis) {
+        this.executor = newTaskExecutor(maxConcurrent, maxQueued, new ThreadPoolExecutor.AbortPolicy());
+        this.analysis = analysis;
+        this.permits = new Semaphore(maxConcurrent);
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, InheritanceResult> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    public CompletableFuture<Outcome> submit(byte[] parentXml, byte[] childXml) {
+        String key = contentHash(parentXml, childXml);
+
+        InheritanceResult cached = cache.get(key);
+        if (cached != null) {
+            cacheHits.incrementAndGet();
+            return CompletableFuture.completedFuture(new Outcome(key, cached, true));
+        }
+
+        CompletableFuture<InheritanceResult> created = new CompletableFuture<>();
+        CompletableFuture<InheritanceResult> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            deduplicated.incrementAndGet();
+            return existing.thenApply(result -> new Outcome(key, result, false));
+        }
+
+        if (pending.incrementAndGet() > maxConcurrent + maxQueued) {
+            return reject(key, created);
+        }
+
+        try {
+            executor.execute(() -> run(key, created, parentXml, childXml));
+        } catch (RejectedExecutionException e) {
+            return reject(key, created);
+        }
+        return created.thenApply(result -> new Outcome(key, result, false));
+    }
+
+    private CompletableFuture<Outcome> reject(String key, CompletableFuture<InheritanceResult> created) {
+        pending.decrementAndGet();
+        inFlight.remove(key, created);
+        created.completeExceptionally(new RejectedExecutionException("Analysis queue is full"));
+        return created.thenApply(result -> new Outcome(key, result, false));
+    }
+
+    private void run(String key, CompletableFuture<InheritanceResult> created, byte[] parentXml, byte[] childXml) {
+        InheritanceResult result = null;
+        Throwable failure = null;
+        try {
+            permits.acquire();
+            try {
+                result = analyze(key, parentXml, childXml);
+            } finally {
+                permits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = e;
+        } catch (Throwable t) {
+            failure = t;
+        } finally {
+            pending.decrementAndGet();
+            inFlight.remove(key, created);
+        }
+        // Závislé akcie (napr. odoslanie HTTP odpovede) bežia až po uvoľnení miesta pre ďalšiu analýzu.
+        if (failure != null) {
+            created.completeExceptionally(failure);
+        } else {
+            created.complete(result);
+        }
+    }
+
+    private InheritanceResult analyze(String key, byte[] parentXml, byte[] childXml) throws Exception {
+        // Medzičasom mohla rovnakú analýzu dokončiť iná požiadavka.
+        InheritanceResult cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        InheritanceResult result = analysis.analyze(parentXml, childXml);
+        analyses.incrementAndGet();
+        cache.put(key, result);
+        return result;
+    }
+
+    private static InheritanceResult parseAndAnalyze(byte[] parentXml, byte[] childXml) throws Exception {
+        AnalysisMetrics metrics = new AnalysisMetrics();
+        PetriNet parent = metrics.time(AnalysisPhase.PARSE,
+                () -> PetriNetUtils.loadPetriNet(new ByteArrayInputStream(parentXml)));
+        PetriNet child = metrics.time(AnalysisPhase.PARSE,
+                () -> PetriNetUtils.loadPetriNet(new ByteArrayInputStream(childXml)));
+        return PetriNetUtils.determineInheritanceType(parent, child, metrics);
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("analyses", analyses.get());
+        stats.put("cacheHits", cacheHits.get());
+        stats.put("deduplicated", deduplicated.get());
+        stats.put("cacheSize", cache.size());
+        stats.put("inFlight", inFlight.size());
+        int running = maxConcurrent - permits.availablePermits();
+        stats.put("running", running);
+        stats.put("queued", Math.max(0, pending.get() - running));
+        stats.put("availablePermits", permits.availablePermits());
+        return stats;
+    }
+
+    /** SHA-256 z dĺžky rodičovskej siete a obsahu oboch sietí, aby sa hranica medzi nimi nedala posunúť. */
+    static String contentHash(byte[] parentXml, byte[] childXml) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(ByteBuffer.allocate(Long.BYTES).putLong(parentXml.length).array());
+            digest.update(parentXml);
+            digest.update(childXml);
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Virtuálne vlákno na úlohu, ak ich JVM poskytuje; inak {@code maxThreads} bežných vlákien
+     * s frontom na {@code queueCapacity} úloh, pri jeho zaplnení rozhodne {@code onFull}.
+     */
+    static ExecutorService newTaskExecutor(int maxThreads, int queueCapacity, RejectedExecutionHandler onFull) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(Math.max(1, queueCapacity)), onFull);
+            pool.allowCoreThreadTimeOut(true);
+            return pool;
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
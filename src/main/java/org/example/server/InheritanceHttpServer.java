@@ -0,0 +1,194 @@
+package org.example.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.example.services.InheritanceAnalysisMonitor;
+
+import javax.xml.bind.JAXBException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Bezhlavá HTTP služba nad analýzou dedenia (JDK {@link HttpServer}, bez externých závislostí).
+ * <pre>
+ * POST /analyze   application/x-www-form-urlencoded, polia parent a child s XML sietí
+ * GET  /health    stav služby, cache a fronty
+ * </pre>
+ * Lokálne: {@code curl --data-urlencode parent@parent.xml --data-urlencode child@child.xml
+ * http://localhost:8080/analyze}
+ * <p>
+ * Služba nemá autentifikáciu, preto predvolene počúva len na loopback rozhraní; iná adresa
+ * sa musí zadať explicitne. Obsluha {@code /analyze} na analýzu nečaká – odpoveď sa odošle
+ * po jej dokončení, takže obslužných vlákien stačí pár a ich front je obmedzený.
+ */
+public class InheritanceHttpServer {
+
+    private static final int MAX_BODY_BYTES = 16 * 1024 * 1024;
+    private static final int MAX_WAITING_EXCHANGES = 1_024;
+
+    private final HttpServer server;
+    private final AnalysisService analysisService;
+    private final ExecutorService handlerExecutor;
+
+    /** Služba dostupná len z lokálneho počítača. */
+    public InheritanceHttpServer(int port, AnalysisService analysisService) throws IOException {
+        this(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), analysisService);
+    }
+
+    public InheritanceHttpServer(InetSocketAddress address, AnalysisService analysisService) throws IOException {
+        this.analysisService = analysisService;
+        this.server = HttpServer.create(address, 0);
+        // Pri plnom fronte obslúži požiadavku vlákno, ktoré prijíma spojenia – to tým spomalí prijímanie ďalších.
+        this.handlerExecutor = AnalysisService.newTaskExecutor(Runtime.getRuntime().availableProcessors(),
+                MAX_WAITING_EXCHANGES, new ThreadPoolExecutor.CallerRunsPolicy());
+        server.setExecutor(handlerExecutor);
+        server.createContext("/analyze", this::handleAnalyze);
+        server.createContext("/health", this::handleHealth);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        int maxConcurrent = args.length > 1
+                ? Integer.parseInt(args[1])
+                : Runtime.getRuntime().availableProcessors();
+        // Tretí argument (napr. 0.0.0.0) sprístupní službu aj mimo lokálneho počítača.
+        InetAddress bindAddress = args.length > 2
+                ? InetAddress.getByName(args[2])
+                : InetAddress.getLoopbackAddress();
+        InheritanceAnalysisMonitor.register();
+        InheritanceHttpServer httpServer = new InheritanceHttpServer(new InetSocketAddress(bindAddress, port),
+                new AnalysisService(maxConcurrent, 1_000, 1_000));
+        httpServer.start();
+        System.out.println("Inheritance analysis service listening on " + bindAddress.getHostAddress()
+                + ":" + httpServer.getPort());
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        handlerExecutor.shutdownNow();
+        analysisService.close();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handleAnalyze(HttpExchange exchange) throws IOException {
+        boolean responded = true;
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, ResultJson.error("Use POST"));
+                return;
+            }
+            byte[] body = readBody(exchange.getRequestBody());
+            if (body == null) {
+                send(exchange, 413, ResultJson.error("Request body exceeds " + MAX_BODY_BYTES + " bytes"));
+                return;
+            }
+            Map<String, String> form = parseForm(new String(body, StandardCharsets.UTF_8));
+            String parent = form.get("parent");
+            String child = form.get("child");
+            if (parent == null || child == null) {
+                send(exchange, 400, ResultJson.error("Both 'parent' and 'child' form fields are required"));
+                return;
+            }
+
+            responded = false;
+            // Odpoveď zapíše obslužné vlákno, nie vlákno analýzy – pomalý klient tak neblokuje ďalšie analýzy.
+            analysisService.submit(parent.getBytes(StandardCharsets.UTF_8), child.getBytes(StandardCharsets.UTF_8))
+                    .whenCompleteAsync((outcome, failure) -> respond(exchange, outcome, failure), handlerExecutor);
+        } catch (RuntimeException e) {
+            send(exchange, 500, ResultJson.error(String.valueOf(e)));
+            responded = true;
+        } finally {
+            if (responded) {
+                exchange.close();
+            }
+        }
+    }
+
+    private static void respond(HttpExchange exchange, AnalysisService.Outcome outcome, Throwable failure) {
+        try {
+            if (failure == null) {
+                send(exchange, 200, ResultJson.outcome(outcome));
+                return;
+            }
+            Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+            if (cause instanceof RejectedExecutionException) {
+                send(exchange, 503, ResultJson.error(cause.getMessage()));
+            } else if (cause instanceof JAXBException) {
+                send(exchange, 400, ResultJson.error("Invalid Petri net XML: " + cause));
+            } else if (cause instanceof IllegalStateException) {
+                send(exchange, 422, ResultJson.error(cause.getMessage()));
+            } else {
+                send(exchange, 500, ResultJson.error(String.valueOf(cause)));
+            }
+        } catch (IOException | RuntimeException e) {
+            // klient sa odpojil; spojenie sa aj tak zatvorí
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleHealth(HttpExchange exchange) throws IOException {
+        try {
+            Map<String, Object> health = new LinkedHashMap<>();
+            health.put("status", "UP");
+            health.putAll(analysisService.getStatistics());
+            send(exchange, 200, ResultJson.object(health));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static byte[] readBody(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            if (out.size() + read > MAX_BODY_BYTES) {
+                return null;
+            }
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static Map<String, String> parseForm(String body) {
+        Map<String, String> fields = new HashMap<>();
+        for (String pair : body.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                fields.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return fields;
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
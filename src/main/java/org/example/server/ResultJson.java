@@ -0,0 +1,217 @@
+package org.example.server;
+
+import org.example.services.AnalysisMetrics;
+import org.example.services.AnalysisPhase;
+import org.example.services.Counterexample;
+import org.example.services.ExplorationStats;
+import org.example.services.InheritanceResult;
+import org.example.services.SoundnessReport;
+import org.example.services.TraceStep;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Ručná serializácia výsledkov do JSON – projekt nemá JSON knižnicu a formát je malý.
+ */
+final class ResultJson {
+
+    private ResultJson() {
+    }
+
+    static String outcome(AnalysisService.Outcome outcome) {
+        InheritanceResult result = outcome.getResult();
+        StringBuilder sb = new StringBuilder("{");
+        field(sb, "verdict").append(string(result.getVerdict())).append(',');
+        field(sb, "type").append(string(result.getType().name())).append(',');
+        field(sb, "protocolInheritance").append(result.isProtocolInheritance()).append(',');
+        field(sb, "projectionInheritance").append(result.isProjectionInheritance()).append(',');
+        field(sb, "protocolCounterexample");
+        counterexample(sb, result.getProtocolCounterexample()).append(',');
+        field(sb, "projectionCounterexample");
+        counterexample(sb, result.getProjectionCounterexample()).append(',');
+        field(sb, "metrics");
+        metrics(sb, result.getMetrics()).append(',');
+        field(sb, "parentSoundness");
+        soundness(sb, result.getParentSoundness()).append(',');
+        field(sb, "childSoundness");
+        soundness(sb, result.getChildSoundness()).append(',');
+        field(sb, "cached").append(outcome.isCached()).append(',');
+        field(sb, "key").append(string(outcome.getKey()));
+        return sb.append('}').toString();
+    }
+
+    static String error(String message) {
+        return "{\"error\":" + string(message) + "}";
+    }
+
+    static String object(Map<String, ?> values) {
+        StringBuilder sb = new StringBuilder("{");
+        boolean first = true;
+        for (Map.Entry<String, ?> entry : values.entrySet()) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            field(sb, entry.getKey());
+            Object value = entry.getValue();
+            sb.append(value instanceof Number || value instanceof Boolean ? value.toString() : string(String.valueOf(value)));
+        }
+        return sb.append('}').toString();
+    }
+
+    private static StringBuilder counterexample(StringBuilder sb, Counterexample counterexample) {
+        if (counterexample == null) {
+            return sb.append("null");
+        }
+        sb.append('{');
+        field(sb, "reason").append(string(counterexample.getReason())).append(',');
+        field(sb, "trace");
+        trace(sb, counterexample.getTrace());
+        return sb.append('}');
+    }
+
+    private static StringBuilder soundness(StringBuilder sb, SoundnessReport report) {
+        sb.append('{');
+        field(sb, "deadlockFree").append(report.isDeadlockFree()).append(',');
+        field(sb, "live").append(report.isLive()).append(',');
+        field(sb, "states").append(report.getStates()).append(',');
+        field(sb, "components").append(report.getComponents()).append(',');
+        field(sb, "terminalComponents").append(report.getTerminalComponents()).append(',');
+        field(sb, "deadlockCount").append(report.getDeadlockCount()).append(',');
+        field(sb, "deadlocks").append('[');
+        boolean first = true;
+        for (Map<String, Integer> marking : report.getDeadlocks()) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            marking(sb, marking);
+        }
+        sb.append("],");
+        field(sb, "deadlockTrace");
+        if (report.getDeadlockTrace() == null) {
+            sb.append("null");
+        } else {
+            trace(sb, report.getDeadlockTrace());
+        }
+        sb.append(',');
+        field(sb, "deadTransitions");
+        strings(sb, report.getDeadTransitions()).append(',');
+        field(sb, "nonLiveTransitions");
+        strings(sb, report.getNonLiveTransitions());
+        return sb.append('}');
+    }
+
+    private static StringBuilder strings(StringBuilder sb, Iterable<String> values) {
+        sb.append('[');
+        boolean first = true;
+        for (String value : values) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            sb.append(string(value));
+        }
+        return sb.append(']');
+    }
+
+    private static void trace(StringBuilder sb, List<TraceStep> trace) {
+        sb.append('[');
+        boolean first = true;
+        for (TraceStep step : trace) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            sb.append('{');
+            field(sb, "transition").append(step.getTransitionId() == null ? "null" : string(step.getTransitionId()));
+            sb.append(',');
+            field(sb, "marking");
+            marking(sb, step.getMarking());
+            sb.append('}');
+        }
+        sb.append(']');
+    }
+
+    private static StringBuilder metrics(StringBuilder sb, AnalysisMetrics metrics) {
+        sb.append('{');
+        field(sb, "phaseMillis").append('{');
+        boolean first = true;
+        for (AnalysisPhase phase : AnalysisPhase.values()) {
+            if (metrics.getPhaseNanos().containsKey(phase)) {
+                if (!first) {
+                    sb.append(',');
+                }
+                first = false;
+                field(sb, phase.name()).append(metrics.getPhaseMillis(phase));
+            }
+        }
+        sb.append("},");
+        field(sb, "parent");
+        exploration(sb, metrics.getParentExploration()).append(',');
+        field(sb, "child");
+        exploration(sb, metrics.getChildExploration()).append(',');
+        field(sb, "tauClosures").append(metrics.getTauClosures()).append(',');
+        field(sb, "tauClosureCacheHitRate").append(metrics.getTauClosureCacheHitRate());
+        return sb.append('}');
+    }
+
+    private static StringBuilder exploration(StringBuilder sb, ExplorationStats stats) {
+        sb.append('{');
+        field(sb, "states").append(stats.getStates()).append(',');
+        field(sb, "edges").append(stats.getEdges()).append(',');
+        field(sb, "peakFrontier").append(stats.getPeakFrontierSize()).append(',');
+        field(sb, "bytesPerState").append(stats.getBytesPerState());
+        return sb.append('}');
+    }
+
+    private static void marking(StringBuilder sb, Map<String, Integer> marking) {
+        sb.append('{');
+        boolean first = true;
+        for (Map.Entry<String, Integer> entry : new TreeMap<>(marking).entrySet()) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            field(sb, entry.getKey()).append(entry.getValue());
+        }
+        sb.append('}');
+    }
+
+    private static StringBuilder field(StringBuilder sb, String name) {
+        return sb.append(string(name)).append(':');
+    }
+
+    static String string(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
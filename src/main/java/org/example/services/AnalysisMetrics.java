@@ -0,0 +1,104 @@
+package org.example.services;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Metriky jedného behu analýzy dedenia: čas jednotlivých fáz, veľkosť preskúmaných
+ * stavových priestorov a práca vykonaná pri tau-uzáveroch.
+ * Inštancia nie je vláknovo bezpečná – patrí jednej analýze.
+ */
+public class AnalysisMetrics {
+
+    @FunctionalInterface
+    public interface PhaseTask<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    private final Map<AnalysisPhase, Long> phaseNanos = new EnumMap<>(AnalysisPhase.class);
+    private ExplorationStats parentExploration = new ExplorationStats();
+    private ExplorationStats childExploration = new ExplorationStats();
+    private long tauClosures;
+    private long tauClosureCacheHits;
+    private long tauClosureCacheMisses;
+
+    /** Spustí úlohu a pripočíta jej trvanie k danej fáze. */
+    public <T, E extends Exception> T time(AnalysisPhase phase, PhaseTask<T, E> task) throws E {
+        long start = System.nanoTime();
+        try {
+            return task.run();
+        } finally {
+            phaseNanos.merge(phase, System.nanoTime() - start, Long::sum);
+        }
+    }
+
+    void useExplorations(ExplorationStats parent, ExplorationStats child) {
+        this.parentExploration = parent;
+        this.childExploration = child;
+    }
+
+    void recordTauClosure(boolean cacheHit) {
+        tauClosures++;
+        if (cacheHit) {
+            tauClosureCacheHits++;
+        } else {
+            tauClosureCacheMisses++;
+        }
+    }
+
+    public Map<AnalysisPhase, Long> getPhaseNanos() {
+        return Collections.unmodifiableMap(phaseNanos);
+    }
+
+    public long getPhaseMillis(AnalysisPhase phase) {
+        return phaseNanos.getOrDefault(phase, 0L) / 1_000_000;
+    }
+
+    public long getTotalMillis() {
+        long total = 0;
+        for (long nanos : phaseNanos.values()) {
+            total += nanos;
+        }
+        return total / 1_000_000;
+    }
+
+    public ExplorationStats getParentExploration() {
+        return parentExploration;
+    }
+
+    public ExplorationStats getChildExploration() {
+        return childExploration;
+    }
+
+    public long getTauClosures() {
+        return tauClosures;
+    }
+
+    public long getTauClosureCacheHits() {
+        return tauClosureCacheHits;
+    }
+
+    public long getTauClosureCacheMisses() {
+        return tauClosureCacheMisses;
+    }
+
+    public double getTauClosureCacheHitRate() {
+        return tauClosures == 0 ? 0.0 : (double) tauClosureCacheHits / tauClosures;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (AnalysisPhase phase : AnalysisPhase.values()) {
+            if (phaseNanos.containsKey(phase)) {
+                sb.append(phase).append('=').append(getPhaseMillis(phase)).append("ms ");
+            }
+        }
+        sb.append("| parent: ").append(parentExploration)
+                .append(" | child: ").append(childExploration)
+                .append(" | tau closures: ").append(tauClosures)
+                .append(String.format(" (cache hit rate %.1f%%)", 100 * getTauClosureCacheHitRate()));
+        return sb.toString();
+    }
+}
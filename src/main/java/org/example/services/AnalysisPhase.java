@@ -0,0 +1,12 @@
+package org.example.services;
+
+/**
+ * Fázy analýzy dedenia, pre ktoré sa meria čas.
+ */
+public enum AnalysisPhase {
+    PARSE,
+    PARENT_EXPLORATION,
+    CHILD_EXPLORATION,
+    PROTOCOL_CHECK,
+    PROJECTION_CHECK
+}
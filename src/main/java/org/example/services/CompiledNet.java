@@ -0,0 +1,149 @@
+package org.example.services;
+
+import org.example.objects.Arc;
+import org.example.objects.PetriNet;
+import org.example.objects.Place;
+import org.example.objects.Transition;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Indexovaná (primitívna) podoba Petriho siete: miesta a prechody majú číselné indexy,
+ * značkovanie je {@code int[]} a vstupné/výstupné hrany prechodov sú predpočítané,
+ * takže odpálenie prechodu nemusí prechádzať celý zoznam hrán.
+ */
+final class CompiledNet {
+
+    private final String[] placeIds;
+    private final String[] transitionIds;
+    private final int[][] prePlaces;
+    private final int[][] preWeights;
+    private final int[][] postPlaces;
+    private final int[][] postWeights;
+    private final int[] initialMarking;
+
+    CompiledNet(PetriNet net) {
+        Map<String, Integer> placeIndex = new HashMap<>();
+        List<String> places = new ArrayList<>();
+        for (Place p : net.getPlaces()) {
+            if (!placeIndex.containsKey(p.getId())) {
+                placeIndex.put(p.getId(), places.size());
+                places.add(p.getId());
+            }
+        }
+
+        Set<String> transitionIdSet = new HashSet<>();
+        for (Transition t : net.getTransitions()) {
+            transitionIdSet.add(t.getId());
+        }
+        // Hrany môžu odkazovať na miesto, ktoré nie je deklarované – správa sa ako miesto s 0 tokenmi.
+        for (Arc a : net.getArcs()) {
+            String placeId = transitionIdSet.contains(a.getDestinationId()) ? a.getSourceId() : a.getDestinationId();
+            if (!placeIndex.containsKey(placeId)) {
+                placeIndex.put(placeId, places.size());
+                places.add(placeId);
+            }
+        }
+        this.placeIds = places.toArray(new String[0]);
+
+        List<Transition> transitions = net.getTransitions();
+        int n = transitions.size();
+        this.transitionIds = new String[n];
+        this.prePlaces = new int[n][];
+        this.preWeights = new int[n][];
+        this.postPlaces = new int[n][];
+        this.postWeights = new int[n][];
+
+        for (int t = 0; t < n; t++) {
+            String id = transitions.get(t).getId();
+            transitionIds[t] = id;
+            List<Arc> in = new ArrayList<>();
+            List<Arc> out = new ArrayList<>();
+            for (Arc a : net.getArcs()) {
+                if (a.getDestinationId().equals(id)) {
+                    in.add(a);
+                }
+                if (a.getSourceId().equals(id)) {
+                    out.add(a);
+                }
+            }
+            prePlaces[t] = new int[in.size()];
+            preWeights[t] = new int[in.size()];
+            for (int i = 0; i < in.size(); i++) {
+                prePlaces[t][i] = placeIndex.get(in.get(i).getSourceId());
+                preWeights[t][i] = in.get(i).getMultiplicity();
+            }
+            postPlaces[t] = new int[out.size()];
+            postWeights[t] = new int[out.size()];
+            for (int i = 0; i < out.size(); i++) {
+                postPlaces[t][i] = placeIndex.get(out.get(i).getDestinationId());
+                postWeights[t][i] = out.get(i).getMultiplicity();
+            }
+        }
+
+        this.initialMarking = new int[placeIds.length];
+        for (Place p : net.getPlaces()) {
+            initialMarking[placeIndex.get(p.getId())] = p.getTokens();
+        }
+    }
+
+    int placeCount() {
+        return placeIds.length;
+    }
+
+    int transitionCount() {
+        return transitionIds.length;
+    }
+
+    String placeId(int place) {
+        return placeIds[place];
+    }
+
+    String transitionId(int transition) {
+        return transitionIds[transition];
+    }
+
+    int[] initialMarking() {
+        return initialMarking.clone();
+    }
+
+    boolean canFire(int[] marking, int transition) {
+        int[] places = prePlaces[transition];
+        int[] weights = preWeights[transition];
+        for (int i = 0; i < places.length; i++) {
+            if (marking[places[i]] < weights[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int[] fire(int[] marking, int transition) {
+        int[] next = marking.clone();
+        int[] pre = prePlaces[transition];
+        int[] preW = preWeights[transition];
+        for (int i = 0; i < pre.length; i++) {
+            next[pre[i]] -= preW[i];
+        }
+        int[] post = postPlaces[transition];
+        int[] postW = postWeights[transition];
+        for (int i = 0; i < post.length; i++) {
+            next[post[i]] += postW[i];
+        }
+        return next;
+    }
+
+    /** Prevedie primitívne značkovanie na mapu v tvare, aký používa {@link PetriNetUtils}. */
+    Map<String, Integer> toMarkingMap(int[] marking) {
+        Map<String, Integer> m = new HashMap<>();
+        for (int p = 0; p < marking.length; p++) {
+            m.put(placeIds[p], marking[p]);
+        }
+        return m;
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.services;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Dôvod, prečo kontrola dedenia zlyhala: najkratšia stopa v rodičovskej sieti
+ * od počiatočného značkovania k správaniu, ktoré dieťa nevie zopakovať.
+ * Ak cesta od počiatku nie je známa, stopa je prázdna.
+ */
+public class Counterexample {
+
+    private final String reason;
+    private final List<TraceStep> trace;
+
+    public Counterexample(String reason, List<TraceStep> trace) {
+        this.reason = reason;
+        this.trace = Collections.unmodifiableList(trace);
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public List<TraceStep> getTrace() {
+        return trace;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(reason);
+        for (TraceStep step : trace) {
+            sb.append(System.lineSeparator()).append("  ").append(step);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,472 @@
+package org.example.services;
+
+import org.example.objects.Arc;
+import org.example.objects.PetriNet;
+import org.example.objects.Place;
+import org.example.objects.Transition;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+
+/**
+ * Periodicky ukladá stav prebiehajúceho prehľadávania (navštívené stavy, front a doteraz
+ * nájdené hrany) do lokálneho súboru, aby sa dlhý beh dal po reštarte JVM obnoviť.
+ * <p>
+ * Prehľadávanie do šírky objavuje stavy v poradí, ktoré sa už nemení: front sú vždy stavy
+ * od indexu {@code head} po koniec zoznamu a hrany majú len už rozvinuté stavy. Stavy aj hrany sa
+ * preto ukladajú do polí, do ktorých sa len pridáva (pri zväčšení vznikne nové pole), a snímka si
+ * zapamätá len odkazy na aktuálne polia a ich dĺžky – prehľadávanie nič nekopíruje. Serializácia
+ * a zápis na disk bežia na samostatnom vlákne. Ak predchádzajúci zápis ešte beží, ďalšia snímka
+ * sa vynechá – prehľadávanie nikdy nečaká.
+ * <p>
+ * Súbor je log: hlavička a za ňou segmenty, z ktorých každý pridá stavy a rozvinutia od predošlej
+ * snímky, takže snímka stojí O(nových stavov + nových hrán), nie O(celého grafu). Segment má
+ * kontrolný súčet CRC32 a po zápise sa vynúti na disk; po páde počas zápisu sa pri obnovení
+ * neúplný koniec zahodí a pokračuje sa od poslednej úplnej snímky.
+ * <p>
+ * Jednu inštanciu možno použiť na viac prehľadávaní za sebou, nie však súčasne.
+ */
+public class ExplorationCheckpointer {
+
+    private static final int MAGIC = 0x504E434B; // "PNCK"
+    private static final int VERSION = 2;
+
+    /** Obnovený stav prehľadávania. */
+    static final class Snapshot {
+        final List<Map<String, Integer>> states;
+        final int head;
+        final int[] edgeOffsets;
+        final int[] edgeData;
+
+        private Snapshot(List<Map<String, Integer>> states, int head, int[] edgeOffsets, int[] edgeData) {
+            this.states = states;
+            this.head = head;
+            this.edgeOffsets = edgeOffsets;
+            this.edgeData = edgeData;
+        }
+    }
+
+    /**
+     * Stav na zápis: odkazy na polia v čase snímky a platné dĺžky. Prvky pred týmito dĺžkami
+     * sa už nemenia a zápisy do nich sú viditeľné vďaka odovzdaniu úlohy cez executor.
+     */
+    private static final class PendingSnapshot {
+        private final Object[] states;
+        private final int stateCount;
+        private final int head;
+        private final int[] edgeOffsets;
+        private final int[] edgeData;
+        private final int edgeDataSize;
+
+        private PendingSnapshot(Object[] states, int stateCount, int head,
+                                int[] edgeOffsets, int[] edgeData, int edgeDataSize) {
+            this.states = states;
+            this.stateCount = stateCount;
+            this.head = head;
+            this.edgeOffsets = edgeOffsets;
+            this.edgeData = edgeData;
+            this.edgeDataSize = edgeDataSize;
+        }
+    }
+
+    private final Path file;
+    private final long intervalNanos;
+    private ExecutorService writer;
+
+    private String[] columns;
+    private Map<String, Integer> columnIndex;
+    private long netFingerprint;
+
+    // objavené stavy v poradí BFS (Map<String, Integer>)
+    private Object[] states;
+    private int stateCount;
+    // hrany rozvinutých stavov: edgeOffsets[s]..edgeOffsets[s+1] v edgeData (dvojice prechod, cieľ)
+    private int[] edgeOffsets;
+    private int expanded;
+    private int[] edgeData;
+    private int edgeDataSize;
+
+    // Platná dĺžka súboru (-1: treba ho zapísať nanovo) a rozsah, ktorý už obsahuje.
+    // Po začatí prehľadávania ich mení len vlákno zapisovača.
+    private long fileLength;
+    private int writtenStates;
+    private int writtenHead;
+
+    private long nextCheckpoint;
+    private Future<?> pendingWrite;
+    private volatile IOException lastError;
+    private volatile int checkpointsWritten;
+
+    public ExplorationCheckpointer(Path file, long intervalMillis) {
+        this.file = file;
+        this.intervalNanos = intervalMillis * 1_000_000;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public int getCheckpointsWritten() {
+        return checkpointsWritten;
+    }
+
+    /** Posledná chyba zápisu snímky, alebo {@code null}. Chyba zápisu prehľadávanie nezastaví. */
+    public IOException getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Pripraví zápis snímok pre danú sieť a načíta existujúcu snímku, ak nejaká je.
+     *
+     * @return obnovený stav, alebo {@code null}, ak súbor neexistuje
+     * @throws IllegalStateException ak snímka patrí inej sieti alebo sa nedá prečítať
+     */
+    Snapshot begin(PetriNet net) {
+        CompiledNet compiled = new CompiledNet(net);
+        this.columns = new String[compiled.placeCount()];
+        this.columnIndex = new HashMap<>();
+        for (int p = 0; p < columns.length; p++) {
+            columns[p] = compiled.placeId(p);
+            columnIndex.put(columns[p], p);
+        }
+        this.netFingerprint = fingerprint(net);
+        this.nextCheckpoint = System.nanoTime() + intervalNanos;
+        this.pendingWrite = null;
+        this.fileLength = -1;
+        this.writtenStates = 0;
+        this.writtenHead = 0;
+
+        Snapshot snapshot = null;
+        if (Files.exists(file)) {
+            try {
+                snapshot = read();
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot read checkpoint " + file + ": " + e, e);
+            }
+        }
+        if (snapshot == null) {
+            this.states = new Object[1024];
+            this.stateCount = 0;
+            this.expanded = 0;
+            this.edgeOffsets = new int[1024];
+            this.edgeData = new int[4096];
+            this.edgeDataSize = 0;
+        } else {
+            this.states = Arrays.copyOf(snapshot.states.toArray(), Math.max(1024, snapshot.states.size()));
+            this.stateCount = snapshot.states.size();
+            this.expanded = snapshot.head;
+            this.edgeOffsets = Arrays.copyOf(snapshot.edgeOffsets, Math.max(1024, snapshot.head + 1));
+            this.edgeData = Arrays.copyOf(snapshot.edgeData, Math.max(4096, snapshot.edgeData.length));
+            this.edgeDataSize = snapshot.edgeData.length;
+        }
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "exploration-checkpoint-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        return snapshot;
+    }
+
+    /** Zaznamená novoobjavený stav; obnovené stavy zo snímky sa nezaznamenávajú znova. */
+    void recordState(Map<String, Integer> marking) {
+        if (stateCount == states.length) {
+            states = Arrays.copyOf(states, stateCount * 2);
+        }
+        states[stateCount++] = marking;
+    }
+
+    void recordEdge(int transition, int target) {
+        if (edgeDataSize + 2 > edgeData.length) {
+            edgeData = Arrays.copyOf(edgeData, edgeData.length * 2);
+        }
+        edgeData[edgeDataSize++] = transition;
+        edgeData[edgeDataSize++] = target;
+    }
+
+    /** Volá sa po úplnom rozvinutí stavu {@code head - 1}; keď uplynul interval, spustí zápis snímky. */
+    void stateExpanded(int head) {
+        if (expanded + 2 > edgeOffsets.length) {
+            edgeOffsets = Arrays.copyOf(edgeOffsets, edgeOffsets.length * 2);
+        }
+        expanded = head;
+        edgeOffsets[expanded] = edgeDataSize;
+
+        long now = System.nanoTime();
+        if (now < nextCheckpoint || (pendingWrite != null && !pendingWrite.isDone())) {
+            return;
+        }
+        nextCheckpoint = now + intervalNanos;
+        PendingSnapshot snapshot = new PendingSnapshot(states, stateCount, head, edgeOffsets, edgeData, edgeDataSize);
+        pendingWrite = writer.submit(() -> write(snapshot));
+    }
+
+    /** Počká na rozpísanú snímku a po úspešnom dokončení prehľadávania súbor zmaže. */
+    void finish() {
+        awaitPendingWrite();
+        writer.shutdown();
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            lastError = e;
+        }
+    }
+
+    /** Ukončí zapisovanie bez mazania snímky (napr. keď prehľadávanie zlyhalo). */
+    void abort() {
+        awaitPendingWrite();
+        writer.shutdown();
+    }
+
+    private void awaitPendingWrite() {
+        if (pendingWrite == null) {
+            return;
+        }
+        try {
+            pendingWrite.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // chyba je už zaznamenaná v lastError
+        }
+    }
+
+    /**
+     * Zapíše nové stavy a rozvinutia od poslednej úspešnej snímky ako jeden segment na koniec súboru.
+     * Ak súbor ešte neexistuje alebo predošlý zápis zlyhal, vznikne nanovo (hlavička a celý stav
+     * v jednom segmente) cez dočasný súbor a atomický presun.
+     */
+    private void write(PendingSnapshot snapshot) {
+        boolean rewrite = fileLength < 0;
+        try {
+            byte[] segment = frame(segment(snapshot, rewrite ? 0 : writtenStates, rewrite ? 0 : writtenHead));
+            if (rewrite) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                bytes.write(header(columns));
+                bytes.write(segment);
+                Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+                try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    writeFully(channel, ByteBuffer.wrap(bytes.toByteArray()));
+                    channel.force(false);
+                }
+                try {
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+                fileLength = bytes.size();
+            } else {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    try {
+                        channel.position(fileLength);
+                        writeFully(channel, ByteBuffer.wrap(segment));
+                        channel.force(false);
+                    } catch (IOException e) {
+                        // Neúplný segment sa odstráni; ak ani to nejde, ďalšia snímka zapíše súbor nanovo.
+                        try {
+                            channel.truncate(fileLength);
+                        } catch (IOException truncateFailure) {
+                            fileLength = -1;
+                        }
+                        throw e;
+                    }
+                }
+                fileLength += segment.length;
+            }
+            writtenStates = snapshot.stateCount;
+            writtenHead = snapshot.head;
+            checkpointsWritten++;
+        } catch (IOException e) {
+            lastError = e;
+        }
+    }
+
+    private byte[] header(String[] columns) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(netFingerprint);
+        out.writeInt(columns.length);
+        for (String column : columns) {
+            out.writeUTF(column);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /** Stavy {@code [stateFrom, stateCount)} a hrany rozvinutí {@code [headFrom, head)}. */
+    @SuppressWarnings("unchecked")
+    private byte[] segment(PendingSnapshot snapshot, int stateFrom, int headFrom) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(stateFrom);
+        out.writeInt(snapshot.stateCount - stateFrom);
+        for (int s = stateFrom; s < snapshot.stateCount; s++) {
+            Map<String, Integer> marking = (Map<String, Integer>) snapshot.states[s];
+            // Kľúče sa ukladajú presne tak, ako sú v mape – aj nulové, lebo od toho závisí rovnosť stavov.
+            out.writeInt(marking.size());
+            for (Map.Entry<String, Integer> entry : marking.entrySet()) {
+                Integer column = columnIndex.get(entry.getKey());
+                if (column == null) {
+                    throw new IOException("Marking refers to unknown place " + entry.getKey());
+                }
+                out.writeInt(column);
+                out.writeInt(entry.getValue());
+            }
+        }
+        out.writeInt(headFrom);
+        out.writeInt(snapshot.head - headFrom);
+        for (int s = headFrom + 1; s <= snapshot.head; s++) {
+            out.writeInt(snapshot.edgeOffsets[s]);
+        }
+        for (int i = snapshot.edgeOffsets[headFrom]; i < snapshot.edgeOffsets[snapshot.head]; i++) {
+            out.writeInt(snapshot.edgeData[i]);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /** Segment v súbore: dĺžka, obsah a CRC32 obsahu, podľa ktorého sa pri čítaní spozná neúplný zápis. */
+    private static byte[] frame(byte[] segment) {
+        CRC32 crc = new CRC32();
+        crc.update(segment);
+        return ByteBuffer.allocate(Integer.BYTES + segment.length + Long.BYTES)
+                .putInt(segment.length).put(segment).putLong(crc.getValue()).array();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Načíta hlavičku a všetky úplné segmenty. Čítanie skončí pri prvom neúplnom alebo poškodenom
+     * segmente (napr. po páde počas zápisu) a súbor sa na tomto mieste skráti, aby ďalšie segmenty
+     * nadväzovali na platné dáta.
+     */
+    private Snapshot read() throws IOException {
+        long size = Files.size(file);
+        List<Map<String, Integer>> states = new ArrayList<>();
+        int head = 0;
+        int[] offsets = new int[1024];
+        int[] data = new int[4096];
+        int dataSize = 0;
+        long validLength;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("not an exploration checkpoint");
+            }
+            if (in.readLong() != netFingerprint) {
+                throw new IllegalStateException("Checkpoint " + file + " belongs to a different net");
+            }
+            String[] storedColumns = new String[in.readInt()];
+            for (int p = 0; p < storedColumns.length; p++) {
+                storedColumns[p] = in.readUTF();
+            }
+            validLength = header(storedColumns).length;
+
+            while (validLength + Integer.BYTES + Long.BYTES <= size) {
+                int length = in.readInt();
+                if (length < 0 || validLength + Integer.BYTES + length + Long.BYTES > size) {
+                    break;
+                }
+                byte[] segment = new byte[length];
+                in.readFully(segment);
+                CRC32 crc = new CRC32();
+                crc.update(segment);
+                if (in.readLong() != crc.getValue()) {
+                    break;
+                }
+
+                DataInputStream seg = new DataInputStream(new ByteArrayInputStream(segment));
+                if (seg.readInt() != states.size()) {
+                    throw new IOException("checkpoint segment does not continue the previous one");
+                }
+                int newStates = seg.readInt();
+                for (int s = 0; s < newStates; s++) {
+                    int entries = seg.readInt();
+                    Map<String, Integer> marking = new HashMap<>();
+                    for (int i = 0; i < entries; i++) {
+                        String place = storedColumns[seg.readInt()];
+                        marking.put(place, seg.readInt());
+                    }
+                    states.add(marking);
+                }
+                if (seg.readInt() != head) {
+                    throw new IOException("checkpoint segment does not continue the previous one");
+                }
+                int newExpansions = seg.readInt();
+                if (head + newExpansions + 1 > offsets.length) {
+                    offsets = Arrays.copyOf(offsets, Math.max(offsets.length * 2, head + newExpansions + 1));
+                }
+                for (int s = 0; s < newExpansions; s++) {
+                    offsets[++head] = seg.readInt();
+                }
+                if (offsets[head] > data.length) {
+                    data = Arrays.copyOf(data, Math.max(data.length * 2, offsets[head]));
+                }
+                while (dataSize < offsets[head]) {
+                    data[dataSize++] = seg.readInt();
+                }
+                validLength += Integer.BYTES + length + Long.BYTES;
+            }
+        }
+        if (validLength < size) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(validLength);
+            }
+        }
+        if (states.isEmpty()) {
+            return null;
+        }
+        fileLength = validLength;
+        writtenStates = states.size();
+        writtenHead = head;
+        return new Snapshot(states, head, Arrays.copyOf(offsets, head + 1), Arrays.copyOf(data, dataSize));
+    }
+
+    private static long fingerprint(PetriNet net) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Place place : net.getPlaces()) {
+                digest.update(("P" + place.getId() + '\0' + place.getTokens() + '\0').getBytes(StandardCharsets.UTF_8));
+            }
+            for (Transition transition : net.getTransitions()) {
+                digest.update(("T" + transition.getId() + '\0').getBytes(StandardCharsets.UTF_8));
+            }
+            for (Arc arc : net.getArcs()) {
+                digest.update(("A" + arc.getSourceId() + '\0' + arc.getDestinationId() + '\0'
+                        + arc.getMultiplicity() + '\0').getBytes(StandardCharsets.UTF_8));
+            }
+            return ByteBuffer.wrap(digest.digest()).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.services;
+
+/**
+ * Spôsob ukladania navštívených značkovaní pri pravdepodobnostnom prehľadávaní.
+ */
+public enum ExplorationMode {
+
+    /** Ukladá sa len 64-bitový odtlačok každého značkovania (hash compaction). */
+    HASH_COMPACTION,
+
+    /** Holzmannovo bitstate hashovanie do bitového poľa pevnej veľkosti. */
+    BITSTATE
+}
@@ -0,0 +1,72 @@
+package org.example.services;
+
+import java.util.Map;
+
+/**
+ * Štatistiky jedného presného prehľadania dosiahnuteľnostného grafu.
+ * Veľkosť stavu v bajtoch je odhad pre 64-bitovú JVM s komprimovanými referenciami
+ * (HashMap so záznamami a boxovanými hodnotami mimo cache {@link Integer}).
+ */
+public class ExplorationStats {
+
+    private static final int MAP_HEADER_BYTES = 48 + 16;
+    private static final int MAP_NODE_BYTES = 32;
+    private static final int BOXED_INTEGER_BYTES = 16;
+
+    private long states;
+    private long edges;
+    private int peakFrontierSize;
+    private long estimatedBytes;
+
+    void recordState(Map<String, Integer> marking) {
+        states++;
+        // značkovanie + mapa výstupných hrán stavu
+        estimatedBytes += estimateMapBytes(marking.size()) + estimateMapBytes(0);
+        for (Integer tokens : marking.values()) {
+            if (tokens < -128 || tokens > 127) {
+                estimatedBytes += BOXED_INTEGER_BYTES;
+            }
+        }
+    }
+
+    void recordEdge() {
+        edges++;
+        estimatedBytes += MAP_NODE_BYTES;
+    }
+
+    void recordFrontier(int size) {
+        peakFrontierSize = Math.max(peakFrontierSize, size);
+    }
+
+    private static long estimateMapBytes(int entries) {
+        int capacity = Integer.highestOneBit(Math.max(1, (int) Math.ceil(entries / 0.75)) * 2 - 1);
+        return MAP_HEADER_BYTES + 4L * Math.max(16, capacity) + (long) MAP_NODE_BYTES * entries;
+    }
+
+    public long getStates() {
+        return states;
+    }
+
+    public long getEdges() {
+        return edges;
+    }
+
+    public int getPeakFrontierSize() {
+        return peakFrontierSize;
+    }
+
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /** Odhadovaná pamäť na jeden stav vrátane jeho výstupných hrán. */
+    public long getBytesPerState() {
+        return states == 0 ? 0 : estimatedBytes / states;
+    }
+
+    @Override
+    public String toString() {
+        return states + " states, " + edges + " edges, peak frontier " + peakFrontierSize
+                + ", ~" + getBytesPerState() + " B/state";
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.services;
+
+/**
+ * Výsledok prehľadávania, ktoré si pamätá len odtlačky značkovaní.
+ * Počty sú dolným odhadom – niektoré stavy mohli byť kvôli kolíziám vynechané,
+ * ich očakávaný počet vracia {@link #getExpectedOmittedStates()}.
+ */
+public class FingerprintExplorationResult {
+
+    private final ExplorationMode mode;
+    private final long statesStored;
+    private final long edgesExplored;
+    private final int peakStackDepth;
+    private final long visitedSetBytes;
+    private final double expectedOmittedStates;
+    private final boolean complete;
+    private final boolean depthLimitReached;
+
+    public FingerprintExplorationResult(ExplorationMode mode,
+                                        long statesStored,
+                                        long edgesExplored,
+                                        int peakStackDepth,
+                                        long visitedSetBytes,
+                                        double expectedOmittedStates,
+                                        boolean complete,
+                                        boolean depthLimitReached) {
+        this.mode = mode;
+        this.statesStored = statesStored;
+        this.edgesExplored = edgesExplored;
+        this.peakStackDepth = peakStackDepth;
+        this.visitedSetBytes = visitedSetBytes;
+        this.expectedOmittedStates = expectedOmittedStates;
+        this.complete = complete;
+        this.depthLimitReached = depthLimitReached;
+    }
+
+    public ExplorationMode getMode() {
+        return mode;
+    }
+
+    public long getStatesStored() {
+        return statesStored;
+    }
+
+    public long getEdgesExplored() {
+        return edgesExplored;
+    }
+
+    /** Najväčšia hĺbka zásobníka – pamäť mimo navštívenej množiny je úmerná hĺbke krát počtu miest. */
+    public int getPeakStackDepth() {
+        return peakStackDepth;
+    }
+
+    public long getVisitedSetBytes() {
+        return visitedSetBytes;
+    }
+
+    /** Očakávaný počet stavov, ktoré sa kvôli kolízii odtlačkov nepreskúmali. */
+    public double getExpectedOmittedStates() {
+        return expectedOmittedStates;
+    }
+
+    /** Pravdepodobnosť, že bol vynechaný aspoň jeden stav (Poissonov odhad). */
+    public double getOmissionProbability() {
+        return -Math.expm1(-expectedOmittedStates);
+    }
+
+    /** {@code false}, ak sa prehľadávanie zastavilo na limite počtu stavov alebo hĺbky. */
+    public boolean isComplete() {
+        return complete && !depthLimitReached;
+    }
+
+    /** {@code true}, ak niektorý stav ležal hlbšie ako limit zásobníka a nepreskúmal sa. */
+    public boolean isDepthLimitReached() {
+        return depthLimitReached;
+    }
+
+    @Override
+    public String toString() {
+        return mode + ": " + statesStored + " states, " + edgesExplored + " edges, "
+                + "peak depth " + peakStackDepth + ", " + visitedSetBytes + " bytes, "
+                + "expected omitted " + String.format("%.3g", expectedOmittedStates)
+                + (complete ? "" : " (truncated)") + (depthLimitReached ? " (depth limit reached)" : "");
+    }
+}
@@ -0,0 +1,293 @@
+package org.example.services;
+
+import org.example.objects.PetriNet;
+
+import java.util.Arrays;
+
+/**
+ * Prehľadávanie stavového priestoru do hĺbky, ktoré namiesto celých značkovaní
+ * ukladá len ich odtlačky. Slúži na rýchle predbežné triedenie veľkých sietí –
+ * za cenu malej pravdepodobnosti, že sa niektorý stav vynechá.
+ * <p>
+ * {@link ExplorationMode#HASH_COMPACTION} drží 64-bitový odtlačok na stav (8 B/stav),
+ * {@link ExplorationMode#BITSTATE} nastavuje {@value #BITSTATE_HASHES} bity v poli
+ * pevnej veľkosti {@code 2^log2Bits} bitov, takže pamäť navštívenej množiny je ohraničená.
+ * Celé značkovania drží len zásobník prehľadávania do hĺbky, ktorý je obmedzený na
+ * {@code maxDepth} úrovní; stavy hlbšie ako limit sa nepreskúmajú a výsledok sa označí ako neúplný.
+ */
+public class FingerprintExplorer {
+
+    public static final int DEFAULT_LOG2_BITS = 27;
+    public static final long DEFAULT_MAX_STATES = 50_000_000L;
+    public static final int DEFAULT_MAX_DEPTH = 1_000_000;
+
+    /** Tabuľka odtlačkov je najviac polovične plná a má najviac 2^30 pozícií. */
+    public static final long MAX_COMPACTED_STATES = 1L << 29;
+
+    private static final int BITSTATE_HASHES = 3;
+    private static final double TWO_POW_64 = 0x1p64;
+
+    private final ExplorationMode mode;
+    private final int log2Bits;
+    private final long maxStates;
+    private final int maxDepth;
+
+    public FingerprintExplorer(ExplorationMode mode) {
+        this(mode, DEFAULT_LOG2_BITS, DEFAULT_MAX_STATES, DEFAULT_MAX_DEPTH);
+    }
+
+    public FingerprintExplorer(ExplorationMode mode, int log2Bits, long maxStates) {
+        this(mode, log2Bits, maxStates, DEFAULT_MAX_DEPTH);
+    }
+
+    public FingerprintExplorer(ExplorationMode mode, int log2Bits, long maxStates, int maxDepth) {
+        if (log2Bits < 6 || log2Bits > 36) {
+            throw new IllegalArgumentException("log2Bits must be between 6 and 36, was " + log2Bits);
+        }
+        if (maxStates < 1 || (mode == ExplorationMode.HASH_COMPACTION && maxStates > MAX_COMPACTED_STATES)) {
+            throw new IllegalArgumentException("maxStates must be between 1 and "
+                    + (mode == ExplorationMode.HASH_COMPACTION ? MAX_COMPACTED_STATES : Long.MAX_VALUE)
+                    + " for " + mode + ", was " + maxStates);
+        }
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("maxDepth must be at least 1, was " + maxDepth);
+        }
+        this.mode = mode;
+        this.log2Bits = log2Bits;
+        this.maxStates = maxStates;
+        this.maxDepth = maxDepth;
+    }
+
+    public FingerprintExplorationResult explore(PetriNet petriNet) {
+        CompiledNet net = new CompiledNet(petriNet);
+        VisitedSet visited = mode == ExplorationMode.BITSTATE
+                ? new BitstateSet(log2Bits)
+                : new CompactedHashSet();
+
+        // Zásobník: značkovanie na každej úrovni a index ďalšieho prechodu, ktorý sa z neho skúsi.
+        int[][] stackMarkings = new int[64][];
+        int[] stackNext = new int[64];
+        int depth = 0;
+        int[] initialMarking = net.initialMarking();
+        visited.add(fingerprint(initialMarking));
+        stackMarkings[depth++] = initialMarking;
+
+        long edges = 0;
+        int peakDepth = 1;
+        boolean truncated = false;
+        boolean depthLimitReached = false;
+
+        while (depth > 0) {
+            int[] currentMarking = stackMarkings[depth - 1];
+            int t = stackNext[depth - 1];
+            while (t < net.transitionCount() && !net.canFire(currentMarking, t)) {
+                t++;
+            }
+            if (t == net.transitionCount()) {
+                stackMarkings[--depth] = null;
+                continue;
+            }
+            stackNext[depth - 1] = t + 1;
+
+            int[] newMarking = net.fire(currentMarking, t);
+            edges++;
+            long fingerprint = fingerprint(newMarking);
+            if (depth == maxDepth) {
+                // Stav sa neuloží, aby ho mohla nájsť kratšia cesta.
+                depthLimitReached |= !visited.contains(fingerprint);
+                continue;
+            }
+            if (visited.size() >= maxStates && !visited.contains(fingerprint)) {
+                truncated = true;
+                break;
+            }
+            if (visited.add(fingerprint)) {
+                if (depth == stackMarkings.length) {
+                    stackMarkings = Arrays.copyOf(stackMarkings, depth * 2);
+                    stackNext = Arrays.copyOf(stackNext, depth * 2);
+                }
+                stackMarkings[depth] = newMarking;
+                stackNext[depth] = 0;
+                depth++;
+                peakDepth = Math.max(peakDepth, depth);
+            }
+        }
+
+        return new FingerprintExplorationResult(mode, visited.size(), edges, peakDepth,
+                visited.memoryBytes(), visited.expectedOmissions(), !truncated, depthLimitReached);
+    }
+
+    /** 64-bitový odtlačok značkovania (mix v štýle SplitMix64 nad každým miestom). */
+    static long fingerprint(int[] marking) {
+        long h = 0x9E3779B97F4A7C15L ^ marking.length;
+        for (int tokens : marking) {
+            h = mix64(h + (tokens & 0xFFFFFFFFL) * 0xBF58476D1CE4E5B9L);
+        }
+        return h;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private interface VisitedSet {
+        /** Vráti {@code true}, ak odtlačok ešte nebol v množine. */
+        boolean add(long fingerprint);
+
+        /** Vráti {@code true}, ak by {@link #add} odtlačok považoval za už navštívený. */
+        boolean contains(long fingerprint);
+
+        long size();
+
+        long memoryBytes();
+
+        double expectedOmissions();
+    }
+
+    /**
+     * Otvorené adresovanie nad {@code long[]}; 0 označuje prázdnu pozíciu,
+     * preto sa odtlačok 0 ukladá ako 1.
+     */
+    private static final class CompactedHashSet implements VisitedSet {
+        private long[] table = new long[1 << 10];
+        private long size;
+        private double expectedOmissions;
+
+        @Override
+        public boolean add(long fingerprint) {
+            long key = fingerprint == 0 ? 1 : fingerprint;
+            if (!insert(table, key)) {
+                return false;
+            }
+            // Nový stav sa mohol zhodovať s jedným z `size` už uložených odtlačkov.
+            expectedOmissions += size / TWO_POW_64;
+            size++;
+            if (size * 2 > table.length) {
+                rehash();
+            }
+            return true;
+        }
+
+        @Override
+        public boolean contains(long fingerprint) {
+            long key = fingerprint == 0 ? 1 : fingerprint;
+            int mask = table.length - 1;
+            int i = (int) mix64(key) & mask;
+            while (table[i] != 0) {
+                if (table[i] == key) {
+                    return true;
+                }
+                i = (i + 1) & mask;
+            }
+            return false;
+        }
+
+        private static boolean insert(long[] table, long key) {
+            int mask = table.length - 1;
+            int i = (int) mix64(key) & mask;
+            while (table[i] != 0) {
+                if (table[i] == key) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            table[i] = key;
+            return true;
+        }
+
+        private void rehash() {
+            long[] bigger = new long[table.length * 2];
+            for (long key : table) {
+                if (key != 0) {
+                    insert(bigger, key);
+                }
+            }
+            table = bigger;
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public long memoryBytes() {
+            return (long) table.length * Long.BYTES;
+        }
+
+        @Override
+        public double expectedOmissions() {
+            return expectedOmissions;
+        }
+    }
+
+    /**
+     * Bitové pole s {@value #BITSTATE_HASHES} hashovacími funkciami odvodenými
+     * dvojitým hashovaním (h1 + i·h2).
+     */
+    private static final class BitstateSet implements VisitedSet {
+        private final long[] words;
+        private final long bitMask;
+        private long bitsSet;
+        private long size;
+        private double expectedOmissions;
+
+        BitstateSet(int log2Bits) {
+            this.words = new long[(int) ((1L << log2Bits) >>> 6)];
+            this.bitMask = (1L << log2Bits) - 1;
+        }
+
+        @Override
+        public boolean add(long fingerprint) {
+            long h1 = fingerprint;
+            long h2 = mix64(fingerprint ^ 0x632BE59BD9B4E019L) | 1;
+            boolean isNew = false;
+            for (int i = 0; i < BITSTATE_HASHES; i++) {
+                long bit = (h1 + i * h2) & bitMask;
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                if ((words[word] & mask) == 0) {
+                    words[word] |= mask;
+                    bitsSet++;
+                    isNew = true;
+                }
+            }
+            if (isNew) {
+                // Nový stav by bol falošne „navštívený“, keby všetky jeho bity už boli nastavené.
+                expectedOmissions += Math.pow((double) bitsSet / (bitMask + 1), BITSTATE_HASHES);
+                size++;
+            }
+            return isNew;
+        }
+
+        @Override
+        public boolean contains(long fingerprint) {
+            long h1 = fingerprint;
+            long h2 = mix64(fingerprint ^ 0x632BE59BD9B4E019L) | 1;
+            for (int i = 0; i < BITSTATE_HASHES; i++) {
+                long bit = (h1 + i * h2) & bitMask;
+                if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public long memoryBytes() {
+            return (long) words.length * Long.BYTES;
+        }
+
+        @Override
+        public double expectedOmissions() {
+            return expectedOmissions;
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package org.example.services;
+
+import guru.nidi.graphviz.engine.Format;
+import guru.nidi.graphviz.engine.Graphviz;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Export dosiahnuteľnostného grafu do formátu DOT.
+ * Výstup sa zapisuje priebežne do súboru, bez budovania modelu grafu v pamäti,
+ * takže zvláda aj grafy s 10^5+ stavmi. Voliteľne vie:
+ * <ul>
+ *     <li>zlúčiť silno súvislé komponenty tichých (tau) prechodov do jedného uzla,</li>
+ *     <li>zoskupiť stavy do klastrov podľa projekcie na rodičovské miesta,</li>
+ *     <li>vykresliť len okolie protipríkladu do zadanej vzdialenosti.</li>
+ * </ul>
+ * Pri veľkých grafoch sa uzly kreslia ako body bez popisov a volí sa layout {@code sfdp}.
+ */
+public class GraphvizExporter {
+
+    /** Nad týmto počtom uzlov sa vynechajú popisy a použije sa {@code sfdp}. */
+    public static final int LABEL_LIMIT = 2_000;
+    /** Nad týmto počtom uzlov {@link #render} nevykresľuje PNG. */
+    public static final int RENDER_LIMIT = 5_000;
+
+    private final IndexedGraph graph;
+    private Set<String> visibleTransitionIds;
+    private Set<String> clusterPlaces;
+    private boolean collapseTau;
+    private int[] neighbourhood;
+
+    public GraphvizExporter(IndexedGraph graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * Zlúči tau-SCC do jedného uzla. Tichý je každý prechod, ktorý nie je medzi {@code visibleTransitionIds}.
+     */
+    public GraphvizExporter collapseTauComponents(Set<String> visibleTransitionIds) {
+        this.visibleTransitionIds = visibleTransitionIds;
+        this.collapseTau = true;
+        return this;
+    }
+
+    /** Zoskupí stavy do klastrov podľa značkovania na daných (rodičovských) miestach. */
+    public GraphvizExporter clusterByProjection(Set<String> parentPlaces) {
+        this.clusterPlaces = parentPlaces;
+        return this;
+    }
+
+    /** Obmedzí výstup na stavy do vzdialenosti {@code radius} (v oboch smeroch) od krokov protipríkladu. */
+    public GraphvizExporter restrictToCounterexample(Counterexample counterexample, int radius) {
+        Set<Map<String, Integer>> seeds = new HashSet<>();
+        for (TraceStep step : counterexample.getTrace()) {
+            seeds.add(step.getMarking());
+        }
+        return restrictToNeighbourhood(seeds, radius);
+    }
+
+    public GraphvizExporter restrictToNeighbourhood(Set<Map<String, Integer>> seeds, int radius) {
+        int[] distance = new int[graph.stateCount()];
+        Arrays.fill(distance, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (Map<String, Integer> seed : seeds) {
+            int s = graph.indexOf(seed);
+            if (s >= 0 && distance[s] == -1) {
+                distance[s] = 0;
+                queue.add(s);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int s = queue.poll();
+            if (distance[s] == radius) {
+                continue;
+            }
+            for (int e = graph.edgeStart(s); e < graph.edgeEnd(s); e++) {
+                visit(graph.edgeTarget(e), distance[s] + 1, distance, queue);
+            }
+            for (int p : graph.predecessors(s)) {
+                visit(p, distance[s] + 1, distance, queue);
+            }
+        }
+        this.neighbourhood = distance;
+        return this;
+    }
+
+    private static void visit(int state, int d, int[] distance, ArrayDeque<Integer> queue) {
+        if (distance[state] == -1) {
+            distance[state] = d;
+            queue.add(state);
+        }
+    }
+
+    /** Zapíše DOT do súboru a vráti počet vykreslených uzlov. */
+    public int write(Path dotFile) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(dotFile, StandardCharsets.UTF_8)) {
+            return write(out);
+        }
+    }
+
+    public int write(Writer out) throws IOException {
+        int n = graph.stateCount();
+
+        // uzol = reprezentant tau-SCC alebo samotný stav
+        int[] node = new int[n];
+        int[] nodeSize = null;
+        if (collapseTau) {
+            StronglyConnectedComponents tauComponents = new StronglyConnectedComponents(graph,
+                    e -> !visibleTransitionIds.contains(graph.label(graph.edgeLabel(e))));
+            int[] representative = new int[tauComponents.getComponentCount()];
+            Arrays.fill(representative, -1);
+            nodeSize = new int[n];
+            for (int s = 0; s < n; s++) {
+                int c = tauComponents.getComponent(s);
+                if (representative[c] == -1) {
+                    representative[c] = s;
+                }
+            }
+            for (int s = 0; s < n; s++) {
+                node[s] = representative[tauComponents.getComponent(s)];
+                nodeSize[node[s]]++;
+            }
+        } else {
+            for (int s = 0; s < n; s++) {
+                node[s] = s;
+            }
+        }
+
+        boolean[] included = new boolean[n];
+        int visibleNodes = 0;
+        for (int s = 0; s < n; s++) {
+            if (neighbourhood == null || neighbourhood[s] != -1) {
+                if (!included[node[s]]) {
+                    included[node[s]] = true;
+                    visibleNodes++;
+                }
+            }
+        }
+        boolean large = visibleNodes > LABEL_LIMIT;
+
+        out.write("digraph reachability {\n");
+        if (large) {
+            out.write("  layout=sfdp; overlap=prism; splines=false; outputorder=edgesfirst;\n");
+            out.write("  node [shape=point, width=0.05];\n  edge [arrowsize=0.3];\n");
+        } else {
+            out.write("  rankdir=LR;\n  node [shape=box, style=rounded, fontsize=10];\n  edge [fontsize=9];\n");
+        }
+
+        if (clusterPlaces != null) {
+            writeClustered(out, node, nodeSize, included, large);
+        } else {
+            for (int s = 0; s < n; s++) {
+                if (node[s] == s && included[s]) {
+                    writeNode(out, "  ", s, nodeSize, large);
+                }
+            }
+        }
+
+        // hrany medzi uzlami; pri zlúčení sa duplicity (rovnaký zdroj, cieľ a prechod) vynechajú
+        Set<Long> written = collapseTau ? new HashSet<>() : null;
+        for (int s = 0; s < n; s++) {
+            int from = node[s];
+            if (!included[from] || (neighbourhood != null && neighbourhood[s] == -1)) {
+                continue;
+            }
+            for (int e = graph.edgeStart(s); e < graph.edgeEnd(s); e++) {
+                int to = node[graph.edgeTarget(e)];
+                if (!included[to] || (neighbourhood != null && neighbourhood[graph.edgeTarget(e)] == -1)) {
+                    continue;
+                }
+                String transitionId = graph.label(graph.edgeLabel(e));
+                boolean tau = visibleTransitionIds != null && !visibleTransitionIds.contains(transitionId);
+                if (collapseTau) {
+                    if (from == to && tau) {
+                        continue;
+                    }
+                    long key = ((long) from * n + to) * graph.labelCount() + graph.edgeLabel(e);
+                    if (!written.add(key)) {
+                        continue;
+                    }
+                }
+                out.write("  s" + from + " -> s" + to);
+                if (!large) {
+                    out.write(" [label=\"" + escape(tau ? "τ(" + transitionId + ")" : transitionId) + "\""
+                            + (tau ? ", style=dashed" : "") + "]");
+                } else if (tau) {
+                    out.write(" [style=dashed]");
+                }
+                out.write(";\n");
+            }
+        }
+        out.write("}\n");
+        return visibleNodes;
+    }
+
+    private void writeClustered(Writer out, int[] node, int[] nodeSize, boolean[] included, boolean large)
+            throws IOException {
+        // Zoradenie uzlov podľa klastra (lineárne, cez počítanie), aby sa každý klaster zapísal naraz.
+        Map<Map<String, Integer>, Integer> clusterIds = new HashMap<>();
+        int n = graph.stateCount();
+        int[] cluster = new int[n];
+        for (int s = 0; s < n; s++) {
+            if (node[s] == s && included[s]) {
+                Map<String, Integer> projection = new TreeMap<>();
+                for (String place : clusterPlaces) {
+                    projection.put(place, graph.marking(s).getOrDefault(place, 0));
+                }
+                Integer id = clusterIds.get(projection);
+                if (id == null) {
+                    id = clusterIds.size();
+                    clusterIds.put(projection, id);
+                }
+                cluster[s] = id;
+            }
+        }
+        List<Map<String, Integer>> projections = new ArrayList<>(Collections.nCopies(clusterIds.size(), null));
+        for (Map.Entry<Map<String, Integer>, Integer> entry : clusterIds.entrySet()) {
+            projections.set(entry.getValue(), entry.getKey());
+        }
+        int[] start = new int[clusterIds.size() + 1];
+        for (int s = 0; s < n; s++) {
+            if (node[s] == s && included[s]) {
+                start[cluster[s] + 1]++;
+            }
+        }
+        for (int c = 0; c < clusterIds.size(); c++) {
+            start[c + 1] += start[c];
+        }
+        int[] order = new int[start[clusterIds.size()]];
+        int[] fill = Arrays.copyOf(start, clusterIds.size());
+        for (int s = 0; s < n; s++) {
+            if (node[s] == s && included[s]) {
+                order[fill[cluster[s]]++] = s;
+            }
+        }
+
+        for (int c = 0; c < clusterIds.size(); c++) {
+            out.write("  subgraph cluster_" + c + " {\n");
+            out.write("    label=\"" + escape(formatMarking(projections.get(c))) + "\"; style=rounded; color=gray;\n");
+            for (int i = start[c]; i < start[c + 1]; i++) {
+                writeNode(out, "    ", order[i], nodeSize, large);
+            }
+            out.write("  }\n");
+        }
+    }
+
+    private void writeNode(Writer out, String indent, int state, int[] nodeSize, boolean large) throws IOException {
+        out.write(indent + "s" + state);
+        String initial = state == graph.initialState() ? "penwidth=2" : null;
+        if (large) {
+            if (initial != null) {
+                out.write(" [" + initial + ", color=red]");
+            }
+        } else {
+            String label = escape(formatMarking(graph.marking(state)));
+            if (nodeSize != null && nodeSize[state] > 1) {
+                label += "\\n(" + nodeSize[state] + " states via τ)";
+            }
+            out.write(" [label=\"" + label + "\"" + (initial != null ? ", " + initial : "") + "]");
+        }
+        out.write(";\n");
+    }
+
+    /** Zobrazí len miesta s nenulovým počtom tokenov. */
+    private static String formatMarking(Map<String, Integer> marking) {
+        StringBuilder sb = new StringBuilder();
+        List<String> places = new ArrayList<>(marking.keySet());
+        Collections.sort(places);
+        for (String place : places) {
+            int tokens = marking.get(place);
+            if (tokens != 0) {
+                if (sb.length() > 0) {
+                    sb.append(' ');
+                }
+                sb.append(place).append('=').append(tokens);
+            }
+        }
+        return sb.length() == 0 ? "∅" : sb.toString();
+    }
+
+    private static String escape(String s) {
+        return s.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    /**
+     * Zapíše DOT súbor a vykreslí ho do PNG cez graphviz-java. Layout veľkých grafov je
+     * v graphviz-java neúnosne pomalý, preto sa nad {@link #RENDER_LIMIT} uzlov zostane len
+     * pri DOT súbore a vyhodí sa výnimka – ten treba vykresliť priamo nástrojom {@code sfdp}.
+     */
+    public void render(Path dotFile, File pngFile) throws IOException {
+        int nodes = write(dotFile);
+        if (nodes > RENDER_LIMIT) {
+            throw new IllegalStateException("Graph has " + nodes + " nodes, PNG rendering is limited to "
+                    + RENDER_LIMIT + "; DOT output was written to " + dotFile);
+        }
+        Graphviz.fromFile(dotFile.toFile()).render(Format.PNG).toFile(pngFile);
+    }
+}
@@ -0,0 +1,210 @@
+package org.example.services;
+
+import org.example.objects.Transition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Primitívna (CSR) podoba dosiahnuteľnostného grafu: stavy sú čísla {@code 0..n-1},
+ * hrany stavu {@code s} sú na pozíciách {@code edgeStart(s)..edgeEnd(s)-1}
+ * a ich značky sú indexy do tabuľky identifikátorov prechodov.
+ * Grafové algoritmy nad ním bežia v lineárnom čase bez hashovania značkovaní.
+ * Inštanciu možno zdieľať medzi vláknami; pomocné indexy sa dopočítajú najviac raz a zverejnia celé.
+ */
+public final class IndexedGraph {
+
+    /** Reverzné hrany v rovnakom tvare ako dopredné. */
+    private static final class Reverse {
+        private final int[] offsets;
+        private final int[] sources;
+
+        private Reverse(int[] offsets, int[] sources) {
+            this.offsets = offsets;
+            this.sources = sources;
+        }
+    }
+
+    private final List<Map<String, Integer>> markings;
+    private final Map<Map<String, Integer>, Integer> identityIndex;
+    private volatile Map<Map<String, Integer>, Integer> index;
+    private final int[] edgeOffsets;
+    private final int[] edgeTargets;
+    private final int[] edgeLabels;
+    private final String[] labels;
+    private final int initialState;
+    private volatile Reverse reverse;
+
+    /**
+     * Očísluje stavy v poradí {@code order} (napr. BFS poradie zo {@link ShortestPathTree}),
+     * ktorého prvé značkovanie sa považuje za počiatočné a dostane číslo 0.
+     */
+    public IndexedGraph(Map<Map<String, Integer>, Map<Transition, Map<String, Integer>>> graph,
+                        List<Map<String, Integer>> order) {
+        this(graph, order, order.isEmpty() ? -1 : 0);
+    }
+
+    /** Očísluje stavy v poradí kľúčov grafu; počiatočný stav nie je známy. */
+    public IndexedGraph(Map<Map<String, Integer>, Map<Transition, Map<String, Integer>>> graph) {
+        this(graph, new ArrayList<>(graph.keySet()), -1);
+    }
+
+    private IndexedGraph(Map<Map<String, Integer>, Map<Transition, Map<String, Integer>>> graph,
+                         List<Map<String, Integer>> order, int initialState) {
+        this.initialState = initialState;
+        this.markings = new ArrayList<>(order);
+        this.identityIndex = new IdentityHashMap<>(order.size() * 2);
+        for (int i = 0; i < markings.size(); i++) {
+            identityIndex.put(markings.get(i), i);
+        }
+
+        // Výstupné hrany sa priradia cez entrySet, bez hashovania značkovaní podľa obsahu.
+        List<Map<Transition, Map<String, Integer>>> outgoing = new ArrayList<>(markings.size());
+        for (int i = 0; i < markings.size(); i++) {
+            outgoing.add(null);
+        }
+        int edgeCount = 0;
+        for (Map.Entry<Map<String, Integer>, Map<Transition, Map<String, Integer>>> entry : graph.entrySet()) {
+            int state = indexOf(entry.getKey());
+            if (state >= 0) {
+                outgoing.set(state, entry.getValue());
+                edgeCount += entry.getValue().size();
+            }
+        }
+
+        Map<String, Integer> labelIndex = new HashMap<>();
+        List<String> labelList = new ArrayList<>();
+        this.edgeOffsets = new int[markings.size() + 1];
+        this.edgeTargets = new int[edgeCount];
+        this.edgeLabels = new int[edgeCount];
+
+        int e = 0;
+        for (int s = 0; s < markings.size(); s++) {
+            edgeOffsets[s] = e;
+            for (Map.Entry<Transition, Map<String, Integer>> edge : outgoing.get(s).entrySet()) {
+                String id = edge.getKey().getId();
+                Integer label = labelIndex.get(id);
+                if (label == null) {
+                    label = labelList.size();
+                    labelIndex.put(id, label);
+                    labelList.add(id);
+                }
+                edgeTargets[e] = indexOf(edge.getValue());
+                edgeLabels[e] = label;
+                e++;
+            }
+        }
+        edgeOffsets[markings.size()] = e;
+        this.labels = labelList.toArray(new String[0]);
+    }
+
+    public int stateCount() {
+        return markings.size();
+    }
+
+    public int edgeCount() {
+        return edgeTargets.length;
+    }
+
+    public Map<String, Integer> marking(int state) {
+        return markings.get(state);
+    }
+
+    /**
+     * Číslo stavu pre značkovanie, alebo -1, ak v grafe nie je. Grafy z {@link PetriNetUtils}
+     * zdieľajú inštancie značkovaní, takže stačí identitné vyhľadanie; porovnanie podľa obsahu
+     * (drahé hashovanie máp) sa pripraví až vtedy, keď je naozaj potrebné.
+     */
+    public int indexOf(Map<String, Integer> marking) {
+        Integer i = identityIndex.get(marking);
+        if (i == null) {
+            i = contentIndex().get(marking);
+        }
+        return i == null ? -1 : i;
+    }
+
+    private Map<Map<String, Integer>, Integer> contentIndex() {
+        Map<Map<String, Integer>, Integer> result = index;
+        if (result == null) {
+            synchronized (this) {
+                result = index;
+                if (result == null) {
+                    result = new HashMap<>(markings.size() * 2);
+                    for (int s = 0; s < markings.size(); s++) {
+                        result.put(markings.get(s), s);
+                    }
+                    index = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /** Číslo počiatočného stavu, alebo -1, ak graf vznikol bez zadaného poradia stavov. */
+    public int initialState() {
+        return initialState;
+    }
+
+    public int edgeStart(int state) {
+        return edgeOffsets[state];
+    }
+
+    public int edgeEnd(int state) {
+        return edgeOffsets[state + 1];
+    }
+
+    public int edgeTarget(int edge) {
+        return edgeTargets[edge];
+    }
+
+    public int edgeLabel(int edge) {
+        return edgeLabels[edge];
+    }
+
+    public int labelCount() {
+        return labels.length;
+    }
+
+    /** Identifikátor prechodu pre index značky. */
+    public String label(int label) {
+        return labels[label];
+    }
+
+    /** Predchodcovia stavu (s opakovaním pri viacerých hranách); reverzný index sa vytvorí pri prvom použití. */
+    public int[] predecessors(int state) {
+        Reverse r = reverse;
+        if (r == null) {
+            synchronized (this) {
+                r = reverse;
+                if (r == null) {
+                    r = buildReverse();
+                    reverse = r;
+                }
+            }
+        }
+        return Arrays.copyOfRange(r.sources, r.offsets[state], r.offsets[state + 1]);
+    }
+
+    private Reverse buildReverse() {
+        int n = stateCount();
+        int[] offsets = new int[n + 1];
+        for (int target : edgeTargets) {
+            offsets[target + 1]++;
+        }
+        for (int s = 0; s < n; s++) {
+            offsets[s + 1] += offsets[s];
+        }
+        int[] fill = Arrays.copyOf(offsets, n);
+        int[] sources = new int[edgeTargets.length];
+        for (int s = 0; s < n; s++) {
+            for (int e = edgeOffsets[s]; e < edgeOffsets[s + 1]; e++) {
+                sources[fill[edgeTargets[e]]++] = s;
+            }
+        }
+        return new Reverse(offsets, sources);
+    }
+}
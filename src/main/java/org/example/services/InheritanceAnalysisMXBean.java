@@ -0,0 +1,37 @@
+package org.example.services;
+
+/**
+ * JMX rozhranie s metrikami analýz dedenia (posledný beh a kumulatívne súčty).
+ */
+public interface InheritanceAnalysisMXBean {
+
+    long getAnalysesCompleted();
+
+    long getTotalAnalysisMillis();
+
+    long getLastParseMillis();
+
+    long getLastParentExplorationMillis();
+
+    long getLastChildExplorationMillis();
+
+    long getLastProtocolCheckMillis();
+
+    long getLastProjectionCheckMillis();
+
+    long getLastParentStates();
+
+    long getLastChildStates();
+
+    long getLastParentEdges();
+
+    long getLastChildEdges();
+
+    int getLastPeakFrontierSize();
+
+    long getLastBytesPerState();
+
+    long getLastTauClosures();
+
+    double getLastTauClosureCacheHitRate();
+}
@@ -0,0 +1,129 @@
+package org.example.services;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Zbiera metriky dokončených analýz a sprístupňuje ich cez JMX
+ * pod menom {@value #OBJECT_NAME}.
+ */
+public class InheritanceAnalysisMonitor implements InheritanceAnalysisMXBean {
+
+    public static final String OBJECT_NAME = "org.example:type=InheritanceAnalysis";
+
+    private static final InheritanceAnalysisMonitor INSTANCE = new InheritanceAnalysisMonitor();
+
+    private final AtomicLong analysesCompleted = new AtomicLong();
+    private final AtomicLong totalAnalysisMillis = new AtomicLong();
+    private volatile AnalysisMetrics last = new AnalysisMetrics();
+
+    private InheritanceAnalysisMonitor() {
+    }
+
+    public static InheritanceAnalysisMonitor getInstance() {
+        return INSTANCE;
+    }
+
+    /** Zaregistruje monitor v platformovom MBean serveri; opakované volanie nič nerobí. */
+    public static void register() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException ignored) {
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+        }
+    }
+
+    /** Zaznamená metriky dokončenej analýzy; inštancia sa potom už nesmie meniť. */
+    public void record(AnalysisMetrics metrics) {
+        analysesCompleted.incrementAndGet();
+        totalAnalysisMillis.addAndGet(metrics.getTotalMillis());
+        last = metrics;
+    }
+
+    @Override
+    public long getAnalysesCompleted() {
+        return analysesCompleted.get();
+    }
+
+    @Override
+    public long getTotalAnalysisMillis() {
+        return totalAnalysisMillis.get();
+    }
+
+    @Override
+    public long getLastParseMillis() {
+        return last.getPhaseMillis(AnalysisPhase.PARSE);
+    }
+
+    @Override
+    public long getLastParentExplorationMillis() {
+        return last.getPhaseMillis(AnalysisPhase.PARENT_EXPLORATION);
+    }
+
+    @Override
+    public long getLastChildExplorationMillis() {
+        return last.getPhaseMillis(AnalysisPhase.CHILD_EXPLORATION);
+    }
+
+    @Override
+    public long getLastProtocolCheckMillis() {
+        return last.getPhaseMillis(AnalysisPhase.PROTOCOL_CHECK);
+    }
+
+    @Override
+    public long getLastProjectionCheckMillis() {
+        return last.getPhaseMillis(AnalysisPhase.PROJECTION_CHECK);
+    }
+
+    @Override
+    public long getLastParentStates() {
+        return last.getParentExploration().getStates();
+    }
+
+    @Override
+    public long getLastChildStates() {
+        return last.getChildExploration().getStates();
+    }
+
+    @Override
+    public long getLastParentEdges() {
+        return last.getParentExploration().getEdges();
+    }
+
+    @Override
+    public long getLastChildEdges() {
+        return last.getChildExploration().getEdges();
+    }
+
+    @Override
+    public int getLastPeakFrontierSize() {
+        AnalysisMetrics m = last;
+        return Math.max(m.getParentExploration().getPeakFrontierSize(),
+                m.getChildExploration().getPeakFrontierSize());
+    }
+
+    @Override
+    public long getLastBytesPerState() {
+        AnalysisMetrics m = last;
+        ExplorationStats parent = m.getParentExploration();
+        ExplorationStats child = m.getChildExploration();
+        long states = parent.getStates() + child.getStates();
+        return states == 0 ? 0 : (parent.getEstimatedBytes() + child.getEstimatedBytes()) / states;
+    }
+
+    @Override
+    public long getLastTauClosures() {
+        return last.getTauClosures();
+    }
+
+    @Override
+    public double getLastTauClosureCacheHitRate() {
+        return last.getTauClosureCacheHitRate();
+    }
+}
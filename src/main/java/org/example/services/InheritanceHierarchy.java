@@ -0,0 +1,97 @@
+package org.example.services;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Matica vzťahov dedenia medzi všetkými dvojicami sietí rodiny.
+ * Bunka {@code [rodič][dieťa]} obsahuje typ dedenia; ak bol odvodený tranzitívne
+ * cez inú sieť, je k nemu uložené meno sprostredkujúcej siete.
+ */
+public class InheritanceHierarchy {
+
+    private final List<String> names;
+    private final InheritanceType[][] types;
+    private final InheritanceResult[][] results;
+    private final String[][] derivedVia;
+    private final SoundnessReport[] soundness;
+    private final long explorationMillis;
+    private final long comparisonMillis;
+
+    InheritanceHierarchy(List<String> names,
+                         InheritanceType[][] types,
+                         InheritanceResult[][] results,
+                         String[][] derivedVia,
+                         SoundnessReport[] soundness,
+                         long explorationMillis,
+                         long comparisonMillis) {
+        this.names = Collections.unmodifiableList(names);
+        this.types = types;
+        this.results = results;
+        this.derivedVia = derivedVia;
+        this.soundness = soundness;
+        this.explorationMillis = explorationMillis;
+        this.comparisonMillis = comparisonMillis;
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+
+    public InheritanceType getType(String parent, String child) {
+        return types[indexOf(parent)][indexOf(child)];
+    }
+
+    /** Výsledok kontroly dvojice, alebo {@code null}, ak bol typ odvodený bez akejkoľvek kontroly. */
+    public InheritanceResult getResult(String parent, String child) {
+        return results[indexOf(parent)][indexOf(child)];
+    }
+
+    /** Sieť, cez ktorú bol vzťah odvodený, alebo {@code null} pri priamej kontrole. */
+    public String getDerivedVia(String parent, String child) {
+        return derivedVia[indexOf(parent)][indexOf(child)];
+    }
+
+    public SoundnessReport getSoundness(String net) {
+        return soundness[indexOf(net)];
+    }
+
+    public long getExplorationMillis() {
+        return explorationMillis;
+    }
+
+    public long getComparisonMillis() {
+        return comparisonMillis;
+    }
+
+    private int indexOf(String name) {
+        int i = names.indexOf(name);
+        if (i < 0) {
+            throw new IllegalArgumentException("Unknown net: " + name);
+        }
+        return i;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("parent \\ child");
+        for (String name : names) {
+            sb.append('\t').append(name);
+        }
+        for (int i = 0; i < names.size(); i++) {
+            sb.append(System.lineSeparator()).append(names.get(i));
+            for (int j = 0; j < names.size(); j++) {
+                sb.append('\t');
+                if (i == j) {
+                    sb.append('-');
+                } else {
+                    sb.append(types[i][j].name());
+                    if (derivedVia[i][j] != null) {
+                        sb.append(" (via ").append(derivedVia[i][j]).append(')');
+                    }
+                }
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,187 @@
+package org.example.services;
+
+import org.example.objects.PetriNet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Analýza celej rodiny sietí (rodičia, deti, vnuci): každá sieť sa preskúma len raz
+ * a kontroly dvojíc aj analýza uviaznutí a živosti bežia paralelne nad zdieľanými stavovými priestormi.
+ * <p>
+ * Protokolové aj projekčné dedenie sú tranzitívne, preto ak už platí
+ * {@code A → K} aj {@code K → B}, vzťah {@code A → B} sa odvodí bez kontroly.
+ * Pri projekčnom dedení sa aj tak overí protokolové, lebo má pri verdikte prednosť.
+ */
+public class InheritanceHierarchyAnalyzer {
+
+    private static final int UNKNOWN = 0;
+    private static final int HOLDS = 1;
+    private static final int FAILS = 2;
+
+    private final int parallelism;
+    private final boolean useTransitivity;
+
+    public InheritanceHierarchyAnalyzer() {
+        this(Runtime.getRuntime().availableProcessors(), true);
+    }
+
+    public InheritanceHierarchyAnalyzer(int parallelism, boolean useTransitivity) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1, was " + parallelism);
+        }
+        this.parallelism = parallelism;
+        this.useTransitivity = useTransitivity;
+    }
+
+    /**
+     * Poradie iterácie mapy určuje poradie vĺn kontrol, preto má byť mapa {@link java.util.LinkedHashMap}
+     * s rodičmi pred potomkami (rodič, dieťa, vnuk). Pri inom poradí sú typy dedenia rovnaké,
+     * len sa menej dvojíc odvodí tranzitívne a viac sa ich kontroluje priamo.
+     */
+    public InheritanceHierarchy analyze(Map<String, PetriNet> nets) {
+        List<String> names = new ArrayList<>(nets.keySet());
+        int n = names.size();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            long start = System.nanoTime();
+            List<Future<ReachabilityExploration>> explorationFutures = new ArrayList<>();
+            for (String name : names) {
+                PetriNet net = nets.get(name);
+                explorationFutures.add(executor.submit(() -> PetriNetUtils.explore(net)));
+            }
+            ReachabilityExploration[] explorations = new ReachabilityExploration[n];
+            for (int i = 0; i < n; i++) {
+                explorations[i] = await(explorationFutures.get(i), names.get(i));
+            }
+            long explored = System.nanoTime();
+
+            List<Future<SoundnessReport>> soundnessFutures = new ArrayList<>();
+            for (ReachabilityExploration exploration : explorations) {
+                soundnessFutures.add(executor.submit(exploration::getSoundnessReport));
+            }
+
+            PairChecks checks = new PairChecks(names, explorations);
+            // Rodiny sa zvyčajne zadávajú v poradí rodič, dieťa, vnuk – dvojice sa preto kontrolujú
+            // vo vlnách podľa vzdialenosti indexov. Každá vlna začne až po dokončení predošlej a odvodzuje
+            // len z jej výsledkov, takže výsledok nezávisí od časovania vlákien.
+            for (int distance = 1; distance < n; distance++) {
+                List<Future<?>> wave = new ArrayList<>();
+                for (int i = 0; i < n; i++) {
+                    for (int j : new int[]{i + distance, i - distance}) {
+                        if (j >= 0 && j < n) {
+                            int parent = i;
+                            int child = j;
+                            int maxDistance = distance;
+                            wave.add(executor.submit(() -> checks.check(parent, child, maxDistance)));
+                        }
+                    }
+                }
+                for (Future<?> future : wave) {
+                    await(future, "pair check");
+                }
+            }
+            SoundnessReport[] soundness = new SoundnessReport[n];
+            for (int i = 0; i < n; i++) {
+                soundness[i] = await(soundnessFutures.get(i), names.get(i));
+            }
+            long compared = System.nanoTime();
+
+            return new InheritanceHierarchy(names, checks.types, checks.results, checks.derivedVia, soundness,
+                    (explored - start) / 1_000_000, (compared - explored) / 1_000_000);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static <T> T await(Future<T> future, String what) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + what, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Analysis of " + what + " failed: " + e.getCause().getMessage(),
+                    e.getCause());
+        }
+    }
+
+    /** Stav zdieľaný úlohami jednej analýzy; každá úloha zapisuje len do svojej bunky. */
+    private final class PairChecks {
+        private final List<String> names;
+        private final ReachabilityExploration[] explorations;
+        private final int n;
+        private final AtomicIntegerArray protocol;
+        private final AtomicIntegerArray projection;
+        private final InheritanceType[][] types;
+        private final InheritanceResult[][] results;
+        private final String[][] derivedVia;
+
+        private PairChecks(List<String> names, ReachabilityExploration[] explorations) {
+            this.names = names;
+            this.explorations = explorations;
+            this.n = explorations.length;
+            this.protocol = new AtomicIntegerArray(n * n);
+            this.projection = new AtomicIntegerArray(n * n);
+            this.types = new InheritanceType[n][n];
+            this.results = new InheritanceResult[n][n];
+            this.derivedVia = new String[n][n];
+        }
+
+        private void check(int parent, int child, int distance) {
+            int cell = parent * n + child;
+            int protocolVia = useTransitivity ? findChain(protocol, parent, child, distance) : -1;
+            if (protocolVia >= 0) {
+                protocol.set(cell, HOLDS);
+                types[parent][child] = InheritanceType.PROTOCOL;
+                derivedVia[parent][child] = names.get(protocolVia);
+                return;
+            }
+
+            int projectionVia = useTransitivity ? findChain(projection, parent, child, distance) : -1;
+            if (projectionVia >= 0) {
+                projection.set(cell, HOLDS);
+                AnalysisMetrics metrics = new AnalysisMetrics();
+                metrics.useExplorations(explorations[parent].getStats(), explorations[child].getStats());
+                Counterexample protocolCounterexample = metrics.time(AnalysisPhase.PROTOCOL_CHECK,
+                        () -> PetriNetUtils.findProtocolCounterexample(explorations[parent], explorations[child]));
+                protocol.set(cell, protocolCounterexample == null ? HOLDS : FAILS);
+                InheritanceType type = protocolCounterexample == null
+                        ? InheritanceType.PROTOCOL
+                        : InheritanceType.PROJECTION;
+                types[parent][child] = type;
+                results[parent][child] = new InheritanceResult(type, protocolCounterexample, null, metrics,
+                        explorations[parent].getSoundnessReport(), explorations[child].getSoundnessReport());
+                if (protocolCounterexample != null) {
+                    derivedVia[parent][child] = names.get(projectionVia);
+                }
+                return;
+            }
+
+            InheritanceResult result = PetriNetUtils.determineInheritanceType(
+                    explorations[parent], explorations[child], new AnalysisMetrics());
+            protocol.set(cell, result.isProtocolInheritance() ? HOLDS : FAILS);
+            projection.set(cell, result.isProjectionInheritance() ? HOLDS : FAILS);
+            types[parent][child] = result.getType();
+            results[parent][child] = result;
+        }
+
+        /** Hľadá sprostredkovateľa len medzi dvojicami z už dokončených vĺn (vzdialenosť menšia ako {@code distance}). */
+        private int findChain(AtomicIntegerArray relation, int from, int to, int distance) {
+            for (int k = 0; k < n; k++) {
+                if (Math.abs(from - k) < distance && Math.abs(k - to) < distance
+                        && relation.get(from * n + k) == HOLDS
+                        && relation.get(k * n + to) == HOLDS) {
+                    return k;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.services;
+
+/**
+ * Výsledok analýzy dedenia: verdikt, protipríklady pre kontroly, ktoré neprešli,
+ * metriky behu (časy fáz, počty stavov) a správy o uviaznutiach a živosti oboch sietí.
+ */
+public class InheritanceResult {
+
+    private final InheritanceType type;
+    private final Counterexample protocolCounterexample;
+    private final Counterexample projectionCounterexample;
+    private final AnalysisMetrics metrics;
+    private final SoundnessReport parentSoundness;
+    private final SoundnessReport childSoundness;
+
+    public InheritanceResult(InheritanceType type,
+                             Counterexample protocolCounterexample,
+                             Counterexample projectionCounterexample,
+                             AnalysisMetrics metrics,
+                             SoundnessReport parentSoundness,
+                             SoundnessReport childSoundness) {
+        this.type = type;
+        this.protocolCounterexample = protocolCounterexample;
+        this.projectionCounterexample = projectionCounterexample;
+        this.metrics = metrics;
+        this.parentSoundness = parentSoundness;
+        this.childSoundness = childSoundness;
+    }
+
+    public InheritanceType getType() {
+        return type;
+    }
+
+    public String getVerdict() {
+        return type.getLabel();
+    }
+
+    /** Protipríklad k protokolovému dedeniu, alebo {@code null}, ak platí. */
+    public Counterexample getProtocolCounterexample() {
+        return protocolCounterexample;
+    }
+
+    /** Protipríklad k projekčnému dedeniu, alebo {@code null}, ak platí. */
+    public Counterexample getProjectionCounterexample() {
+        return projectionCounterexample;
+    }
+
+    public boolean isProtocolInheritance() {
+        return protocolCounterexample == null;
+    }
+
+    public boolean isProjectionInheritance() {
+        return projectionCounterexample == null;
+    }
+
+    public AnalysisMetrics getMetrics() {
+        return metrics;
+    }
+
+    public SoundnessReport getParentSoundness() {
+        return parentSoundness;
+    }
+
+    public SoundnessReport getChildSoundness() {
+        return childSoundness;
+    }
+
+    @Override
+    public String toString() {
+        return getVerdict();
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.services;
+
+/**
+ * Výsledný typ dedenia medzi rodičovskou a detskou sieťou.
+ */
+public enum InheritanceType {
+    PROTOCOL("Protocol Inheritance"),
+    PROJECTION("Projection Inheritance"),
+    NONE("No Inheritance");
+
+    private final String label;
+
+    InheritanceType(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -7,127 +7,293 @@ import org.example.objects.Transition;
 
 import javax.xml.bind.JAXBException;
 import java.io.File;
+import java.io.InputStream;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
 public class PetriNetUtils {
 
+    /**
+     * Podrobný výpis priebehu kontrol (celé grafy, simulácia krokov) na štandardný výstup.
+     * Zapína sa {@code -Dpetrinet.debug=true}; dôvod zlyhania nesie {@link Counterexample} aj bez neho.
+     */
+    static final boolean DEBUG = Boolean.getBoolean("petrinet.debug");
+
+    /** Predvolený limit stavov presného prehľadávania. */
+    public static final int DEFAULT_MAX_STATES = 10_000;
+
     private static ProjectionInheritanceChecker projectionInheritanceChecker = new ProjectionInheritanceChecker();
 
     public static PetriNet loadPetriNet(File file) throws JAXBException {
         return XMLParser.loadPetriNet(file);
     }
 
-    public static Map<Map<String, Integer>, Map<Transition, Map<String, Integer>>> generateReachabilityGraph(PetriNet petriNet) {
-        Map<Map<String, Integer>, Map<Transition, Map<String, Integer>>> reachabilityGraph = new HashMap<>();
-        Set<Map<String, Integer>> visitedMarkings = new HashSet<>();
-        Queue<Map<String, Integer>> workQueue = new LinkedList<>();
+    public static PetriNet loadPetriNet(InputStream in) throws JAXBException {
+        return XMLParser.loadPetriNet(in);
+    }
 
-        Map<String, Integer> initialMarking = getInitialMarking(petriNet);
-        visitedMarkings.add(initialMarking);
-        workQueue.add(initialMarking);
-        reachabilityGraph.put(initialMarking, new HashMap<>());
+    public static Map<Map<String, Integer>, Map<Transition, Map<String, Integer>>> generateReachabilityGraph(PetriNet petriNet) {
+        return generateReachabilityGraph(petriNet, new ExplorationStats(), new ShortestPathTree());
+    }
 
-        int stepCount = 0;
-        final int MAX_STEPS = 10_000;
+    public static Map<Map<String, Integer>, Map<Transition, Map<String, Integer>>> generateReachabilityGraph(
+            PetriNet petriNet, ExplorationStats stats, ShortestPathTree paths) {
+        return generateReachabilityGraph(petriNet, stats, paths, DEFAULT_MAX_STATES, null);
+    }
 
-        while (!workQueue.isEmpty()) {
-            if (++stepCount > MAX_STEPS) {
-                throw new IllegalStateException(
-                        "Reachability graph is too large – more than " + MAX_STEPS + " states.");
+    /**
+     * Prehľadávanie do šírky najviac {@code maxStates} stavov s voliteľným priebežným ukladaním stavu.
+     * Ak {@code checkpointer} nájde snímku rovnakej siete, prehľadávanie pokračuje od nej; po úspešnom
+     * dokončení sa snímka zmaže.
+     *
+     * @throws IllegalStateException ak má graf viac ako {@code maxStates} stavov
+     */
+    public static Map<Map<String, Integer>, Map<Transition, Map<String, Integer>>> generateReachabilityGraph(
+            PetriNet petriNet, ExplorationStats stats, ShortestPathTree paths, int maxStates,
+            ExplorationCheckpointer checkpointer) {
+        Map<Map<String, Integer>, Map<Transition, Map<String, Integer>>> reachabilityGraph = new HashMap<>();
+        // Navštívené značkovania mapované na poradie objavenia; states drží kanonické inštancie
+        // (hrany grafu ukazujú na tie isté objekty ako kľúče, čo umožňuje identitné indexovanie
+        // v IndexedGraph) a front tvoria stavy od indexu head po koniec zoznamu.
+        Map<Map<String, Integer>, Integer> visitedMarkings = new HashMap<>();
+        List<Map<String, Integer>> states = new ArrayList<>();
+        List<Transition> transitions = petriNet.getTransitions();
+        int head = 0;
+
+        ExplorationCheckpointer.Snapshot snapshot = checkpointer != null ? checkpointer.begin(petriNet) : null;
+        if (snapshot == null) {
+            Map<String, Integer> initialMarking = getInitialMarking(petriNet);
+            addState(initialMarking, states, visitedMarkings, reachabilityGraph, stats);
+            paths.recordInitial(initialMarking);
+            if (checkpointer != null) {
+                checkpointer.recordState(initialMarking);
+            }
+        } else {
+            for (Map<String, Integer> marking : snapshot.states) {
+                addState(marking, states, visitedMarkings, reachabilityGraph, stats);
             }
-            Map<String, Integer> currentMarking = workQueue.poll();
-            for (Transition transition : petriNet.getTransitions()) {
-                if (canFire(currentMarking, transition, petriNet)) {
-                    Map<String, Integer> newMarking = fireTransition(currentMarking, transition, petriNet);
-
-                    if (visitedMarkings.add(newMarking)) {
-                        workQueue.add(newMarking);
-                        reachabilityGraph.putIfAbsent(newMarking, new HashMap<>());
+            paths.recordInitial(states.get(0));
+            // Hrany sa prehrajú v pôvodnom poradí, takže strom najkratších ciest vyjde rovnako ako bez prerušenia.
+            int discovered = 1;
+            for (head = 0; head < snapshot.head; head++) {
+                Map<String, Integer> currentMarking = states.get(head);
+                for (int e = snapshot.edgeOffsets[head]; e < snapshot.edgeOffsets[head + 1]; e += 2) {
+                    Transition transition = transitions.get(snapshot.edgeData[e]);
+                    int target = snapshot.edgeData[e + 1];
+                    if (target == discovered) {
+                        paths.recordDiscovery(states.get(target), currentMarking, transition.getId());
+                        discovered++;
                     }
+                    reachabilityGraph.get(currentMarking).put(transition, states.get(target));
+                    stats.recordEdge();
+                }
+            }
+        }
+        stats.recordFrontier(states.size() - head);
 
-                    reachabilityGraph.get(currentMarking).put(transition, newMarking);
+        int stepCount = head;
+
+        try {
+            while (head < states.size()) {
+                if (++stepCount > maxStates) {
+                    throw new IllegalStateException(
+                            "Reachability graph is too large – more than " + maxStates + " states.");
+                }
+                Map<String, Integer> currentMarking = states.get(head);
+                Map<Transition, Map<String, Integer>> outgoing = reachabilityGraph.get(currentMarking);
+                for (int t = 0; t < transitions.size(); t++) {
+                    Transition transition = transitions.get(t);
+                    if (canFire(currentMarking, transition, petriNet)) {
+                        Map<String, Integer> newMarking = fireTransition(currentMarking, transition, petriNet);
+
+                        Integer target = visitedMarkings.get(newMarking);
+                        if (target != null) {
+                            newMarking = states.get(target);
+                        } else {
+                            target = states.size();
+                            addState(newMarking, states, visitedMarkings, reachabilityGraph, stats);
+                            paths.recordDiscovery(newMarking, currentMarking, transition.getId());
+                            if (checkpointer != null) {
+                                checkpointer.recordState(newMarking);
+                            }
+                        }
+
+                        outgoing.put(transition, newMarking);
+                        stats.recordEdge();
+                        if (checkpointer != null) {
+                            checkpointer.recordEdge(t, target);
+                        }
+                    }
+                }
+                head++;
+                stats.recordFrontier(states.size() - head);
+                if (checkpointer != null) {
+                    checkpointer.stateExpanded(head);
                 }
             }
+        } catch (RuntimeException e) {
+            if (checkpointer != null) {
+                checkpointer.abort();
+            }
+            throw e;
+        }
+        if (checkpointer != null) {
+            checkpointer.finish();
         }
         return reachabilityGraph;
     }
 
-    public static String determineInheritanceType(PetriNet parentNet, PetriNet childNet) {
-        Map<Map<String, Integer>, Map<Transition, Map<String, Integer>>> parentGraph =
-                generateReachabilityGraph(parentNet);
-        Map<Map<String, Integer>, Map<Transition, Map<String, Integer>>> childGraph =
-                generateReachabilityGraph(childNet);
+    private static void addState(Map<String, Integer> marking, List<Map<String, Integer>> states,
+                                 Map<Map<String, Integer>, Integer> visitedMarkings,
+                                 Map<Map<String, Integer>, Map<Transition, Map<String, Integer>>> reachabilityGraph,
+                                 ExplorationStats stats) {
+        visitedMarkings.put(marking, states.size());
+        states.add(marking);
+        reachabilityGraph.put(marking, new HashMap<>());
+        stats.recordState(marking);
+    }
 
-        Set<String> parentTransitions = parentNet.getTransitions().stream()
-                .map(Transition::getId).collect(Collectors.toSet());
+    public static FingerprintExplorationResult generateReachabilityGraph(PetriNet petriNet, ExplorationMode mode) {
+        return new FingerprintExplorer(mode).explore(petriNet);
+    }
 
-        Set<String> parentPlaces = parentNet.getPlaces().stream()
-                .map(Place::getId).collect(Collectors.toSet());
+    public static InheritanceResult determineInheritanceType(PetriNet parentNet, PetriNet childNet) {
+        return determineInheritanceType(parentNet, childNet, new AnalysisMetrics());
+    }
 
-        Map<Map<String, Integer>, Map<Transition, Map<String, Integer>>> protocolChildGraph =
-                filterGraph(childGraph, parentTransitions);
+    public static ReachabilityExploration explore(PetriNet petriNet) {
+        return explore(petriNet, DEFAULT_MAX_STATES, null);
+    }
 
-        boolean isProtocolInheritance =
-                compareReachabilityGraphs(parentGraph, protocolChildGraph, parentPlaces);
+    /**
+     * Ako {@link #explore(PetriNet)}, s vlastným limitom stavov a voliteľným priebežným ukladaním
+     * stavu a obnovením z poslednej snímky ({@code checkpointer} môže byť {@code null}).
+     */
+    public static ReachabilityExploration explore(PetriNet petriNet, int maxStates,
+                                                  ExplorationCheckpointer checkpointer) {
+        ExplorationStats stats = new ExplorationStats();
+        ShortestPathTree paths = new ShortestPathTree();
+        Map<Map<String, Integer>, Map<Transition, Map<String, Integer>>> graph =
+                generateReachabilityGraph(petriNet, stats, paths, maxStates, checkpointer);
+        return new ReachabilityExploration(petriNet, graph, paths, stats);
+    }
 
-        boolean isProjectionInheritance =
-                projectionInheritanceChecker.checkProjectionInheritanceUsingReachabilityGraph(
-                        parentGraph, childGraph, parentTransitions);
+    public static InheritanceResult determineInheritanceType(PetriNet parentNet, PetriNet childNet,
+                                                             AnalysisMetrics metrics) {
+        ReachabilityExploration parent = metrics.time(AnalysisPhase.PARENT_EXPLORATION, () -> explore(parentNet));
+        ReachabilityExploration child = metrics.time(AnalysisPhase.CHILD_EXPLORATION, () -> explore(childNet));
+        return determineInheritanceType(parent, child, metrics);
+    }
 
-        if (isProtocolInheritance) {
-            return "Protocol Inheritance";
-        } else if (isProjectionInheritance) {
-            return "Projection Inheritance";
+    /**
+     * Analýza nad už preskúmanými stavovými priestormi – tie sa dajú zdieľať medzi viacerými dvojicami.
+     */
+    public static InheritanceResult determineInheritanceType(ReachabilityExploration parent,
+                                                             ReachabilityExploration child,
+                                                             AnalysisMetrics metrics) {
+        metrics.useExplorations(parent.getStats(), child.getStats());
+
+        // Analýza uviaznutí a živosti beží nad tými istými grafmi súbežne s kontrolami dedenia.
+        CompletableFuture<SoundnessReport> parentSoundness =
+                CompletableFuture.supplyAsync(parent::getSoundnessReport);
+        CompletableFuture<SoundnessReport> childSoundness =
+                CompletableFuture.supplyAsync(child::getSoundnessReport);
+
+        Counterexample protocolCounterexample = metrics.time(AnalysisPhase.PROTOCOL_CHECK,
+                () -> findProtocolCounterexample(parent, child));
+
+        Counterexample projectionCounterexample = metrics.time(AnalysisPhase.PROJECTION_CHECK,
+                () -> findProjectionCounterexample(parent, child, metrics));
+
+        InheritanceAnalysisMonitor.getInstance().record(metrics);
+
+        InheritanceType type;
+        if (protocolCounterexample == null) {
+            type = InheritanceType.PROTOCOL;
+        } else if (projectionCounterexample == null) {
+            type = InheritanceType.PROJECTION;
         } else {
-            return "No Inheritance";
+            type = InheritanceType.NONE;
         }
+        return new InheritanceResult(type, protocolCounterexample, projectionCounterexample, metrics,
+                parentSoundness.join(), childSoundness.join());
+    }
+
+    static Counterexample findProtocolCounterexample(ReachabilityExploration parent,
+                                                     ReachabilityExploration child) {
+        Map<Map<String, Integer>, Map<Transition, Map<String, Integer>>> protocolChildGraph =
+                filterGraph(child.getGraph(), parent.getTransitionIds());
+        return compareReachabilityGraphs(parent.getGraph(), parent.getPaths(), protocolChildGraph,
+                parent.getPlaceIds());
+    }
+
+    static Counterexample findProjectionCounterexample(ReachabilityExploration parent,
+                                                       ReachabilityExploration child,
+                                                       AnalysisMetrics metrics) {
+        return projectionInheritanceChecker.findProjectionCounterexample(
+                parent.getGraph(), parent.getPaths(), child.getGraph(), parent.getTransitionIds(), metrics);
     }
 
-    private static boolean compareReachabilityGraphs(
+    /**
+     * Vráti protipríklad k protokolovému dedeniu, alebo {@code null}, ak dedenie platí.
+     * Rodičovské stavy sa prechádzajú v poradí BFS, takže nájdená stopa je najkratšia.
+     */
+    private static Counterexample compareReachabilityGraphs(
             Map<Map<String, Integer>, Map<Transition, Map<String, Integer>>> parentGraph,
+            ShortestPathTree parentPaths,
             Map<Map<String, Integer>, Map<Transition, Map<String, Integer>>> childGraph,
             Set<String> parentPlaces) {
 
-        for (var parentEntry : parentGraph.entrySet()) {
-            Map<String, Integer> parentMarking = parentEntry.getKey();
+        for (Map<String, Integer> parentMarking : parentPaths.getMarkingsInBfsOrder()) {
 
             Optional<Map<String, Integer>> childMarkingOpt = childGraph.keySet().stream()
                     .filter(childMarking -> markingsMatchOn(parentMarking, childMarking, parentPlaces))
                     .findFirst();
             if (childMarkingOpt.isEmpty()) {
-                System.out.println("[PROTOCOL DEBUG] Chýba stav v dieťati pre rodičovské značkovanie: "
-                        + parentMarking);
-                return false;
+                if (DEBUG) {
+                    System.out.println("[PROTOCOL DEBUG] Chýba stav v dieťati pre rodičovské značkovanie: "
+                            + parentMarking);
+                }
+                return new Counterexample("Child has no state matching parent marking " + parentMarking,
+                        parentPaths.pathTo(parentMarking));
             }
             Map<String, Integer> childMarking = childMarkingOpt.get();
 
-            Map<Transition, Map<String, Integer>> parentTransitions = parentEntry.getValue();
+            Map<Transition, Map<String, Integer>> parentTransitions = parentGraph.get(parentMarking);
             Map<Transition, Map<String, Integer>> childTransitions  = childGraph.get(childMarking);
 
             for (Transition parentT : parentTransitions.keySet()) {
+                Map<String, Integer> parentNextMarking = parentTransitions.get(parentT);
+
                 Optional<Transition> childTopt = childTransitions.keySet().stream()
                         .filter(ct -> ct.getId().equals(parentT.getId()))
                         .findFirst();
                 if (childTopt.isEmpty()) {
-                    System.out.println("[PROTOCOL DEBUG] Dieťa neobsahuje prechod '"
-                            + parentT.getId() + "' v stave: " + childMarking);
-                    return false;
+                    if (DEBUG) {
+                        System.out.println("[PROTOCOL DEBUG] Dieťa neobsahuje prechod '"
+                                + parentT.getId() + "' v stave: " + childMarking);
+                    }
+                    return new Counterexample("Child cannot fire '" + parentT.getId()
+                            + "' in state " + childMarking,
+                            parentPaths.pathThrough(parentMarking, parentT.getId(), parentNextMarking));
                 }
                 Transition childT = childTopt.get();
 
-                Map<String, Integer> parentNextMarking = parentTransitions.get(parentT);
                 Map<String, Integer> childNextMarking  = childTransitions.get(childT);
                 if (!markingsMatchOn(parentNextMarking, childNextMarking, parentPlaces)) {
-                    System.out.println("[PROTOCOL DEBUG] Nesúlad cieľových prechodov pre prechod '"
-                            + parentT.getId() + "'. rodič očakáva: " + parentNextMarking
-                            + ", dieťa má: " + childNextMarking);
-                    return false;
+                    if (DEBUG) {
+                        System.out.println("[PROTOCOL DEBUG] Nesúlad cieľových prechodov pre prechod '"
+                                + parentT.getId() + "'. rodič očakáva: " + parentNextMarking
+                                + ", dieťa má: " + childNextMarking);
+                    }
+                    return new Counterexample("Transition '" + parentT.getId() + "' leads the child to "
+                            + childNextMarking + ", parent expects " + parentNextMarking,
+                            parentPaths.pathThrough(parentMarking, parentT.getId(), parentNextMarking));
                 }
             }
         }
 
-        return true;
+        return null;
     }
 
     private static Map<Map<String, Integer>, Map<Transition, Map<String, Integer>>>
@@ -3,8 +3,10 @@ package org.example.services;
 import org.example.objects.Transition;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
@@ -52,15 +54,49 @@ public class ProjectionInheritanceChecker {
             Map<Map<String, Integer>, Map<Transition, Map<String, Integer>>> parentGraph,
             Map<Map<String, Integer>, Map<Transition, Map<String, Integer>>> childGraph,
             Set<String> parentTransitionIds) {
+        return checkProjectionInheritanceUsingReachabilityGraph(
+                parentGraph, childGraph, parentTransitionIds, new AnalysisMetrics());
+    }
+
+    /**
+     * Rovnaká kontrola, ktorá navyše zaznamená počet tau-uzáverov a úspešnosť ich cache do metrík.
+     */
+    public boolean checkProjectionInheritanceUsingReachabilityGraph(
+            Map<Map<String, Integer>, Map<Transition, Map<String, Integer>>> parentGraph,
+            Map<Map<String, Integer>, Map<Transition, Map<String, Integer>>> childGraph,
+            Set<String> parentTransitionIds,
+            AnalysisMetrics metrics) {
+        return findProjectionCounterexample(parentGraph, null, childGraph, parentTransitionIds, metrics) == null;
+    }
+
+    /**
+     * Vráti protipríklad k projekčnému dedeniu, alebo {@code null}, ak dedenie platí.
+     * Ak je zadaný strom {@code parentPaths}, rodičovské stavy sa prechádzajú v poradí BFS
+     * a stopa k prvému zlyhaniu je najkratšia. Bez stromu cesta z počiatočného značkovania
+     * nie je známa a protipríklad má prázdnu stopu.
+     */
+    public Counterexample findProjectionCounterexample(
+            Map<Map<String, Integer>, Map<Transition, Map<String, Integer>>> parentGraph,
+            ShortestPathTree parentPaths,
+            Map<Map<String, Integer>, Map<Transition, Map<String, Integer>>> childGraph,
+            Set<String> parentTransitionIds,
+            AnalysisMetrics metrics) {
+
+        // Tau-uzáver závisí len od stavu, preto sa v rámci jednej kontroly počíta pre každý stav najviac raz.
+        Map<Map<String, Integer>, Set<Map<String, Integer>>> tauClosureCache = new HashMap<>();
 
-        printReachabilityGraphWithTau("Parent", parentGraph, parentTransitionIds);
-        printReachabilityGraphWithTau("Child" , childGraph , parentTransitionIds);
+        if (PetriNetUtils.DEBUG) {
+            printReachabilityGraphWithTau("Parent", parentGraph, parentTransitionIds);
+            printReachabilityGraphWithTau("Child" , childGraph , parentTransitionIds);
+            System.out.println("\n=== Checking Projection Inheritance ===");
+        }
 
-        System.out.println("\n=== Checking Projection Inheritance ===");
+        Iterable<Map<String, Integer>> parentStates = parentPaths != null
+                ? parentPaths.getMarkingsInBfsOrder()
+                : parentGraph.keySet();
 
-        for (Map.Entry<Map<String, Integer>, Map<Transition, Map<String, Integer>>> parentEntry : parentGraph.entrySet()) {
-            Map<String, Integer> parentState = parentEntry.getKey();
-            Map<Transition, Map<String, Integer>> parentEdges = parentEntry.getValue();
+        for (Map<String, Integer> parentState : parentStates) {
+            Map<Transition, Map<String, Integer>> parentEdges = parentGraph.get(parentState);
 
             for (Map.Entry<Transition, Map<String, Integer>> parentTransitionEntry : parentEdges.entrySet()) {
                 Transition parentTransition = parentTransitionEntry.getKey();
@@ -73,8 +109,10 @@ public class ProjectionInheritanceChecker {
                         continue;
                     }
 
-                    System.out.println("Simulating: " + parentState + " --" + parentTransition.getId() + "--> " + expectedParentNext);
-                    System.out.println("Start child state: " + childStartState);
+                    if (PetriNetUtils.DEBUG) {
+                        System.out.println("Simulating: " + parentState + " --" + parentTransition.getId() + "--> " + expectedParentNext);
+                        System.out.println("Start child state: " + childStartState);
+                    }
 
                     if (canSimulate(
                             childStartState,
@@ -82,25 +120,37 @@ public class ProjectionInheritanceChecker {
                             expectedParentNext,
                             childGraph,
                             parentTransitionIds,
-                            parentState)) {
+                            parentState,
+                            tauClosureCache,
+                            metrics)) {
 
-                        System.out.println("Simulated successfully from: " + childStartState);
+                        if (PetriNetUtils.DEBUG) {
+                            System.out.println("Simulated successfully from: " + childStartState);
+                        }
                         simulatedSuccessfully = true;
                         break;
-                    } else {
+                    } else if (PetriNetUtils.DEBUG) {
                         System.out.println("Failed from child state: " + childStartState);
                     }
                 }
 
                 if (!simulatedSuccessfully) {
-                    System.out.println("Cannot simulate transition '" + parentTransition.getId() + "' from parent state " + parentState);
-                    return false;
+                    if (PetriNetUtils.DEBUG) {
+                        System.out.println("Cannot simulate transition '" + parentTransition.getId() + "' from parent state " + parentState);
+                    }
+                    String reason = "Child cannot simulate '" + parentTransition.getId()
+                            + "' from parent state " + parentState;
+                    return new Counterexample(reason, parentPaths != null
+                            ? parentPaths.pathThrough(parentState, parentTransition.getId(), expectedParentNext)
+                            : List.of());
                 }
             }
         }
 
-        System.out.println("Projection inheritance confirmed.");
-        return true;
+        if (PetriNetUtils.DEBUG) {
+            System.out.println("Projection inheritance confirmed.");
+        }
+        return null;
     }
 
     /**
@@ -115,7 +165,9 @@ public class ProjectionInheritanceChecker {
             Map<String, Integer> expectedParentNext,
             Map<Map<String, Integer>, Map<Transition, Map<String, Integer>>> childGraph,
             Set<String> parentTransitionIds,
-            Map<String, Integer> parentRelevantPlaces) {
+            Map<String, Integer> parentRelevantPlaces,
+            Map<Map<String, Integer>, Set<Map<String, Integer>>> tauClosureCache,
+            AnalysisMetrics metrics) {
 
         Queue<Map<String, Integer>> queue = new LinkedList<>();
         Set<Map<String, Integer>> visited = new HashSet<>();
@@ -133,11 +185,15 @@ public class ProjectionInheritanceChecker {
 
                 if (!parentTransitionIds.contains(transition.getId())) {
                     if (!matchParentPlaces(currentState, nextState, parentRelevantPlaces.keySet())) {
-                        System.out.println("Tau '" + transition.getId() + "' zmenil rodičovské miesta: " + currentState + " -> " + nextState);
+                        if (PetriNetUtils.DEBUG) {
+                            System.out.println("Tau '" + transition.getId() + "' zmenil rodičovské miesta: " + currentState + " -> " + nextState);
+                        }
                         return false;
                     }
                     if (visited.add(nextState)) {
-                        System.out.println("τ→ " + transition.getId() + " leads to " + nextState);
+                        if (PetriNetUtils.DEBUG) {
+                            System.out.println("τ→ " + transition.getId() + " leads to " + nextState);
+                        }
                         queue.add(nextState);
                     }
                 }
@@ -145,11 +201,18 @@ public class ProjectionInheritanceChecker {
 
             if (outgoing.containsKey(parentTransition)) {
                 Map<String, Integer> afterParent = outgoing.get(parentTransition);
-                Set<Map<String, Integer>> closure = tauClosure(childGraph, afterParent, parentTransitionIds);
+                Set<Map<String, Integer>> closure = tauClosureCache.get(afterParent);
+                metrics.recordTauClosure(closure != null);
+                if (closure == null) {
+                    closure = tauClosure(childGraph, afterParent, parentTransitionIds);
+                    tauClosureCache.put(afterParent, closure);
+                }
 
                 for (Map<String, Integer> candidate : closure) {
                     if (matchParentPlaces(expectedParentNext, candidate, expectedParentNext.keySet())) {
-                        System.out.println(parentTransition.getId() + "' simulated, reached " + candidate);
+                        if (PetriNetUtils.DEBUG) {
+                            System.out.println(parentTransition.getId() + "' simulated, reached " + candidate);
+                        }
                         return true;
                     }
                 }
@@ -0,0 +1,80 @@
+package org.example.services;
+
+import org.example.objects.PetriNet;
+import org.example.objects.Place;
+import org.example.objects.Transition;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Úplne preskúmaný stavový priestor jednej siete: dosiahnuteľnostný graf, BFS strom
+ * pre najkratšie stopy a štatistiky prehľadávania. Graf sa po vytvorení nemení
+ * a odvodené údaje sa počítajú len raz, takže ho môže zdieľať viacero kontrol dedenia (aj paralelne).
+ */
+public class ReachabilityExploration {
+
+    private final PetriNet net;
+    private final Map<Map<String, Integer>, Map<Transition, Map<String, Integer>>> graph;
+    private final ShortestPathTree paths;
+    private final ExplorationStats stats;
+    private final Set<String> transitionIds;
+    private final Set<String> placeIds;
+    private IndexedGraph indexedGraph;
+    private SoundnessReport soundnessReport;
+
+    public ReachabilityExploration(PetriNet net,
+                                   Map<Map<String, Integer>, Map<Transition, Map<String, Integer>>> graph,
+                                   ShortestPathTree paths,
+                                   ExplorationStats stats) {
+        this.net = net;
+        this.graph = graph;
+        this.paths = paths;
+        this.stats = stats;
+        this.transitionIds = net.getTransitions().stream()
+                .map(Transition::getId).collect(Collectors.toSet());
+        this.placeIds = net.getPlaces().stream()
+                .map(Place::getId).collect(Collectors.toSet());
+    }
+
+    public PetriNet getNet() {
+        return net;
+    }
+
+    public Map<Map<String, Integer>, Map<Transition, Map<String, Integer>>> getGraph() {
+        return graph;
+    }
+
+    public ShortestPathTree getPaths() {
+        return paths;
+    }
+
+    public ExplorationStats getStats() {
+        return stats;
+    }
+
+    public Set<String> getTransitionIds() {
+        return transitionIds;
+    }
+
+    public Set<String> getPlaceIds() {
+        return placeIds;
+    }
+
+    /** Primitívna podoba grafu očíslovaná v poradí BFS (počiatočný stav má číslo 0); vytvorí sa raz. */
+    public synchronized IndexedGraph getIndexedGraph() {
+        if (indexedGraph == null) {
+            indexedGraph = new IndexedGraph(graph, paths.getMarkingsInBfsOrder());
+        }
+        return indexedGraph;
+    }
+
+    /** Správa o uviaznutiach a živosti siete; počíta sa raz pre celé prehľadávanie. */
+    public synchronized SoundnessReport getSoundnessReport() {
+        if (soundnessReport == null) {
+            soundnessReport = SoundnessAnalyzer.analyze(this);
+        }
+        return soundnessReport;
+    }
+}
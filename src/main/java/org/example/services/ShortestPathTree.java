@@ -0,0 +1,64 @@
+package org.example.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Strom rodičovských ukazovateľov z prehľadávania do šírky. Pre každé značkovanie
+ * si pamätá predchodcu a prechod, ktorým bolo prvýkrát objavené, takže najkratšiu
+ * stopu k nemu netreba hľadať opätovným prehľadávaním.
+ */
+public class ShortestPathTree {
+
+    private static final class Predecessor {
+        private final Map<String, Integer> marking;
+        private final String transitionId;
+
+        private Predecessor(Map<String, Integer> marking, String transitionId) {
+            this.marking = marking;
+            this.transitionId = transitionId;
+        }
+    }
+
+    private final Map<Map<String, Integer>, Predecessor> predecessors = new HashMap<>();
+    private final List<Map<String, Integer>> discoveryOrder = new ArrayList<>();
+
+    void recordInitial(Map<String, Integer> marking) {
+        discoveryOrder.add(marking);
+    }
+
+    void recordDiscovery(Map<String, Integer> marking, Map<String, Integer> from, String transitionId) {
+        predecessors.put(marking, new Predecessor(from, transitionId));
+        discoveryOrder.add(marking);
+    }
+
+    /** Značkovania v poradí objavenia, t. j. podľa neklesajúcej vzdialenosti od počiatku. */
+    public List<Map<String, Integer>> getMarkingsInBfsOrder() {
+        return Collections.unmodifiableList(discoveryOrder);
+    }
+
+    /** Najkratšia stopa z počiatočného značkovania do daného značkovania. */
+    public List<TraceStep> pathTo(Map<String, Integer> marking) {
+        List<TraceStep> path = new ArrayList<>();
+        Map<String, Integer> current = marking;
+        Predecessor p;
+        while ((p = predecessors.get(current)) != null) {
+            path.add(new TraceStep(p.transitionId, current));
+            current = p.marking;
+        }
+        path.add(new TraceStep(null, current));
+        Collections.reverse(path);
+        return path;
+    }
+
+    /** Najkratšia stopa do značkovania {@code marking} predĺžená o jeden ďalší krok. */
+    public List<TraceStep> pathThrough(Map<String, Integer> marking, String transitionId,
+                                       Map<String, Integer> nextMarking) {
+        List<TraceStep> path = pathTo(marking);
+        path.add(new TraceStep(transitionId, nextMarking));
+        return path;
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Analýza uviaznutí a živosti nad {@link IndexedGraph}. Všetky kroky (Tarjan,
+ * terminálne SCC, mŕtve a neživé prechody) sú lineárne v počte stavov a hrán.
+ */
+public final class SoundnessAnalyzer {
+
+    private SoundnessAnalyzer() {
+    }
+
+    public static SoundnessReport analyze(ReachabilityExploration exploration) {
+        return analyze(exploration.getIndexedGraph(), exploration.getTransitionIds(), exploration.getPaths());
+    }
+
+    /**
+     * @param graph         graf s počiatočným stavom 0 (všetky stavy sú z neho dosiahnuteľné)
+     * @param transitionIds všetky prechody siete, aj tie, ktoré sa v grafe nevyskytujú
+     * @param paths         BFS strom na zostavenie stopy k uviaznutiu
+     */
+    public static SoundnessReport analyze(IndexedGraph graph, Set<String> transitionIds, ShortestPathTree paths) {
+        int n = graph.stateCount();
+        StronglyConnectedComponents sccs = new StronglyConnectedComponents(graph);
+        int components = sccs.getComponentCount();
+
+        // Komponent je terminálny, ak z neho nevedie žiadna hrana do iného komponentu.
+        boolean[] terminal = new boolean[components];
+        Arrays.fill(terminal, true);
+        int deadlockCount = 0;
+        List<Map<String, Integer>> deadlocks = new ArrayList<>();
+        for (int s = 0; s < n; s++) {
+            if (graph.edgeStart(s) == graph.edgeEnd(s)) {
+                deadlockCount++;
+                if (deadlocks.size() < SoundnessReport.MAX_LISTED_DEADLOCKS) {
+                    deadlocks.add(graph.marking(s));
+                }
+            }
+            for (int e = graph.edgeStart(s); e < graph.edgeEnd(s); e++) {
+                if (sccs.getComponent(graph.edgeTarget(e)) != sccs.getComponent(s)) {
+                    terminal[sccs.getComponent(s)] = false;
+                }
+            }
+        }
+
+        // Stavy zoradené podľa komponentu, aby sa každý terminálny komponent dal prejsť naraz.
+        int[] start = new int[components + 1];
+        for (int s = 0; s < n; s++) {
+            start[sccs.getComponent(s) + 1]++;
+        }
+        for (int c = 0; c < components; c++) {
+            start[c + 1] += start[c];
+        }
+        int[] byComponent = new int[n];
+        int[] fill = Arrays.copyOf(start, components);
+        for (int s = 0; s < n; s++) {
+            byComponent[fill[sccs.getComponent(s)]++] = s;
+        }
+
+        boolean[] fired = new boolean[graph.labelCount()];
+        int[] terminalsWithLabel = new int[graph.labelCount()];
+        int[] lastComponent = new int[graph.labelCount()];
+        Arrays.fill(lastComponent, -1);
+        int terminalComponents = 0;
+        for (int c = 0; c < components; c++) {
+            if (terminal[c]) {
+                terminalComponents++;
+            }
+            for (int i = start[c]; i < start[c + 1]; i++) {
+                int s = byComponent[i];
+                for (int e = graph.edgeStart(s); e < graph.edgeEnd(s); e++) {
+                    int label = graph.edgeLabel(e);
+                    fired[label] = true;
+                    if (terminal[c] && lastComponent[label] != c) {
+                        lastComponent[label] = c;
+                        terminalsWithLabel[label]++;
+                    }
+                }
+            }
+        }
+
+        Set<String> dead = new TreeSet<>(transitionIds);
+        Set<String> nonLive = new TreeSet<>(transitionIds);
+        for (int label = 0; label < graph.labelCount(); label++) {
+            if (fired[label]) {
+                dead.remove(graph.label(label));
+            }
+            if (terminalsWithLabel[label] == terminalComponents) {
+                nonLive.remove(graph.label(label));
+            }
+        }
+
+        List<TraceStep> deadlockTrace = deadlocks.isEmpty() ? null : paths.pathTo(deadlocks.get(0));
+        return new SoundnessReport(n, components, terminalComponents, deadlockCount, deadlocks,
+                deadlockTrace, dead, nonLive);
+    }
+}
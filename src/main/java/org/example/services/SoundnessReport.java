@@ -0,0 +1,94 @@
+package org.example.services;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Behaviorálne vlastnosti jednej siete zistené z jej dosiahnuteľnostného grafu:
+ * uviaznutia (stavy bez nasledovníkov), mŕtve prechody (nikdy neodpálené)
+ * a živosť (prechod je živý, ak sa dá odpáliť z každého terminálneho SCC).
+ */
+public class SoundnessReport {
+
+    /** Najviac toľko uviaznutých značkovaní sa uchováva v správe. */
+    public static final int MAX_LISTED_DEADLOCKS = 100;
+
+    private final int states;
+    private final int components;
+    private final int terminalComponents;
+    private final int deadlockCount;
+    private final List<Map<String, Integer>> deadlocks;
+    private final List<TraceStep> deadlockTrace;
+    private final Set<String> deadTransitions;
+    private final Set<String> nonLiveTransitions;
+
+    public SoundnessReport(int states,
+                           int components,
+                           int terminalComponents,
+                           int deadlockCount,
+                           List<Map<String, Integer>> deadlocks,
+                           List<TraceStep> deadlockTrace,
+                           Set<String> deadTransitions,
+                           Set<String> nonLiveTransitions) {
+        this.states = states;
+        this.components = components;
+        this.terminalComponents = terminalComponents;
+        this.deadlockCount = deadlockCount;
+        this.deadlocks = Collections.unmodifiableList(deadlocks);
+        this.deadlockTrace = deadlockTrace == null ? null : Collections.unmodifiableList(deadlockTrace);
+        this.deadTransitions = Collections.unmodifiableSet(deadTransitions);
+        this.nonLiveTransitions = Collections.unmodifiableSet(nonLiveTransitions);
+    }
+
+    public int getStates() {
+        return states;
+    }
+
+    public int getComponents() {
+        return components;
+    }
+
+    public int getTerminalComponents() {
+        return terminalComponents;
+    }
+
+    public int getDeadlockCount() {
+        return deadlockCount;
+    }
+
+    /** Uviaznuté značkovania v poradí BFS (najviac {@value #MAX_LISTED_DEADLOCKS}). */
+    public List<Map<String, Integer>> getDeadlocks() {
+        return deadlocks;
+    }
+
+    /** Najkratšia stopa k uviaznutiu, alebo {@code null}, ak sieť neuviazne. */
+    public List<TraceStep> getDeadlockTrace() {
+        return deadlockTrace;
+    }
+
+    public Set<String> getDeadTransitions() {
+        return deadTransitions;
+    }
+
+    public Set<String> getNonLiveTransitions() {
+        return nonLiveTransitions;
+    }
+
+    public boolean isDeadlockFree() {
+        return deadlockCount == 0;
+    }
+
+    public boolean isLive() {
+        return nonLiveTransitions.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return (isDeadlockFree() ? "deadlock-free" : deadlockCount + " deadlock(s)")
+                + ", " + (isLive() ? "live" : "not live " + nonLiveTransitions)
+                + (deadTransitions.isEmpty() ? "" : ", dead " + deadTransitions)
+                + " (" + states + " states, " + components + " SCCs, " + terminalComponents + " terminal)";
+    }
+}
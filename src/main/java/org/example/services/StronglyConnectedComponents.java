@@ -0,0 +1,104 @@
+package org.example.services;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Silno súvislé komponenty {@link IndexedGraph} – iteratívny Tarjanov algoritmus
+ * (bez rekurzie, takže nepretečie zásobník ani pri 10^5+ stavoch).
+ * Komponenty sú očíslované v poradí dokončenia, t. j. v opačnom topologickom poradí:
+ * komponent 0 nemá hranu do iného komponentu.
+ */
+public final class StronglyConnectedComponents {
+
+    private final int[] component;
+    private final int[] componentSizes;
+
+    public StronglyConnectedComponents(IndexedGraph graph) {
+        this(graph, edge -> true);
+    }
+
+    /** Berie do úvahy len hrany, ktoré spĺňajú {@code edgeFilter} (napr. len tau hrany). */
+    public StronglyConnectedComponents(IndexedGraph graph, IntPredicate edgeFilter) {
+        int n = graph.stateCount();
+        int[] lowLink = new int[n];
+        int[] discovery = new int[n];
+        Arrays.fill(discovery, -1);
+        this.component = new int[n];
+        Arrays.fill(component, -1);
+
+        int[] sccStack = new int[n];
+        int sccTop = 0;
+        boolean[] onStack = new boolean[n];
+        // zásobník volaní: stav a pozícia ďalšej hrany na spracovanie
+        int[] callState = new int[n];
+        int[] callEdge = new int[n];
+        int[] sizes = new int[Math.max(1, n)];
+
+        int counter = 0;
+        int components = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (discovery[root] != -1) {
+                continue;
+            }
+            int depth = 0;
+            callState[0] = root;
+            callEdge[0] = graph.edgeStart(root);
+            discovery[root] = lowLink[root] = counter++;
+            sccStack[sccTop++] = root;
+            onStack[root] = true;
+
+            while (depth >= 0) {
+                int v = callState[depth];
+                if (callEdge[depth] < graph.edgeEnd(v)) {
+                    int e = callEdge[depth]++;
+                    if (!edgeFilter.test(e)) {
+                        continue;
+                    }
+                    int w = graph.edgeTarget(e);
+                    if (discovery[w] == -1) {
+                        discovery[w] = lowLink[w] = counter++;
+                        sccStack[sccTop++] = w;
+                        onStack[w] = true;
+                        depth++;
+                        callState[depth] = w;
+                        callEdge[depth] = graph.edgeStart(w);
+                    } else if (onStack[w]) {
+                        lowLink[v] = Math.min(lowLink[v], discovery[w]);
+                    }
+                    continue;
+                }
+
+                if (lowLink[v] == discovery[v]) {
+                    int w;
+                    do {
+                        w = sccStack[--sccTop];
+                        onStack[w] = false;
+                        component[w] = components;
+                        sizes[components]++;
+                    } while (w != v);
+                    components++;
+                }
+                depth--;
+                if (depth >= 0) {
+                    int parent = callState[depth];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[v]);
+                }
+            }
+        }
+        this.componentSizes = Arrays.copyOf(sizes, components);
+    }
+
+    public int getComponentCount() {
+        return componentSizes.length;
+    }
+
+    public int getComponent(int state) {
+        return component[state];
+    }
+
+    public int getComponentSize(int component) {
+        return componentSizes[component];
+    }
+}
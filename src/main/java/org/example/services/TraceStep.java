@@ -0,0 +1,32 @@
+package org.example.services;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Jeden krok stopy: odpálený prechod a značkovanie, do ktorého viedol.
+ * Prvý krok stopy má {@code transitionId == null} a nesie počiatočné značkovanie.
+ */
+public class TraceStep {
+
+    private final String transitionId;
+    private final Map<String, Integer> marking;
+
+    public TraceStep(String transitionId, Map<String, Integer> marking) {
+        this.transitionId = transitionId;
+        this.marking = Collections.unmodifiableMap(marking);
+    }
+
+    public String getTransitionId() {
+        return transitionId;
+    }
+
+    public Map<String, Integer> getMarking() {
+        return marking;
+    }
+
+    @Override
+    public String toString() {
+        return transitionId == null ? marking.toString() : "--" + transitionId + "--> " + marking;
+    }
+}
@@ -6,12 +6,34 @@ import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
 import java.io.File;
+import java.io.InputStream;
 
 public class XMLParser {
 
+    // JAXBContext je vláknovo bezpečný a jeho vytvorenie je drahé, Unmarshaller nie je.
+    private static volatile JAXBContext context;
+
     public static PetriNet loadPetriNet(File file) throws JAXBException {
-        JAXBContext context = JAXBContext.newInstance(PetriNet.class);
-        Unmarshaller unmarshaller = context.createUnmarshaller();
+        Unmarshaller unmarshaller = getContext().createUnmarshaller();
         return (PetriNet) unmarshaller.unmarshal(file);
     }
+
+    public static PetriNet loadPetriNet(InputStream in) throws JAXBException {
+        Unmarshaller unmarshaller = getContext().createUnmarshaller();
+        return (PetriNet) unmarshaller.unmarshal(in);
+    }
+
+    private static JAXBContext getContext() throws JAXBException {
+        JAXBContext result = context;
+        if (result == null) {
+            synchronized (XMLParser.class) {
+                result = context;
+                if (result == null) {
+                    result = JAXBContext.newInstance(PetriNet.class);
+                    context = result;
+                }
+            }
+        }
+        return result;
+    }
 }
@@ -0,0 +1,176 @@
+package org.example.server;
+
+import org.example.objects.Arc;
+import org.example.objects.PetriNet;
+import org.example.objects.Place;
+import org.example.objects.Transition;
+import org.example.services.InheritanceResult;
+import org.example.services.PetriNetUtils;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class InheritanceHttpServerTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    /** Skutočný výsledok pre kruh p0 ⇄ p1, aby sa dal serializovať do JSON. */
+    private static InheritanceResult cycleResult() {
+        PetriNet net = new PetriNet();
+        net.setPlaces(new ArrayList<>());
+        net.setTransitions(new ArrayList<>());
+        net.setArcs(new ArrayList<>());
+        net.getPlaces().add(new Place("p0", 1));
+        net.getPlaces().add(new Place("p1", 0));
+        net.getTransitions().add(new Transition("t0"));
+        net.getTransitions().add(new Transition("t1"));
+        net.getArcs().add(new Arc("p0", "t0", 1));
+        net.getArcs().add(new Arc("t0", "p1", 1));
+        net.getArcs().add(new Arc("p1", "t1", 1));
+        net.getArcs().add(new Arc("t1", "p0", 1));
+        return PetriNetUtils.determineInheritanceType(net, net);
+    }
+
+    /** Analýza, ktorá počíta volania a skončí až po uvoľnení {@code release}. */
+    private static AnalysisService.Analysis blockingAnalysis(AtomicInteger calls, CountDownLatch release) {
+        InheritanceResult result = cycleResult();
+        return (parentXml, childXml) -> {
+            calls.incrementAndGet();
+            release.await();
+            return result;
+        };
+    }
+
+    private static URI analyzeUri(InheritanceHttpServer server) {
+        return URI.create("http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + server.getPort()
+                + "/analyze");
+    }
+
+    private CompletableFuture<HttpResponse<String>> post(InheritanceHttpServer server, String parent, String child) {
+        String form = "parent=" + URLEncoder.encode(parent, StandardCharsets.UTF_8)
+                + "&child=" + URLEncoder.encode(child, StandardCharsets.UTF_8);
+        HttpRequest request = HttpRequest.newBuilder(analyzeUri(server))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not reached within 10 s");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static long statistic(AnalysisService service, String name) {
+        return ((Number) service.getStatistics().get(name)).longValue();
+    }
+
+    @Test
+    public void identicalConcurrentRequestsShareOneAnalysisAndRepeatIsCached() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        AnalysisService service = new AnalysisService(2, 10, 10, blockingAnalysis(calls, release));
+        InheritanceHttpServer server = new InheritanceHttpServer(0, service);
+        server.start();
+        try {
+            CompletableFuture<HttpResponse<String>> first = post(server, "<parent/>", "<child/>");
+            awaitCondition(() -> calls.get() == 1);
+            CompletableFuture<HttpResponse<String>> second = post(server, "<parent/>", "<child/>");
+            awaitCondition(() -> statistic(service, "deduplicated") == 1);
+            release.countDown();
+
+            assertEquals(200, first.get(10, TimeUnit.SECONDS).statusCode());
+            assertEquals(200, second.get(10, TimeUnit.SECONDS).statusCode());
+            assertTrue(first.get().body().contains("\"cached\":false"));
+            assertEquals(1, calls.get());
+            assertEquals(1, statistic(service, "analyses"));
+
+            HttpResponse<String> repeated = post(server, "<parent/>", "<child/>").get(10, TimeUnit.SECONDS);
+            assertEquals(200, repeated.statusCode());
+            assertTrue(repeated.body().contains("\"cached\":true"));
+            assertTrue(repeated.body().contains("\"type\":\"PROTOCOL\""));
+            assertEquals(1, calls.get());
+            assertEquals(1, statistic(service, "cacheHits"));
+        } finally {
+            release.countDown();
+            server.stop();
+        }
+    }
+
+    @Test
+    public void requestsBeyondRunningAndQueuedLimitAreRejected() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        // maxConcurrent + maxQueued = 2
+        AnalysisService service = new AnalysisService(1, 1, 10, blockingAnalysis(calls, release));
+        InheritanceHttpServer server = new InheritanceHttpServer(0, service);
+        server.start();
+        try {
+            CompletableFuture<HttpResponse<String>> running = post(server, "<parent/>", "<child1/>");
+            CompletableFuture<HttpResponse<String>> queued = post(server, "<parent/>", "<child2/>");
+            awaitCondition(() -> statistic(service, "inFlight") == 2);
+
+            HttpResponse<String> rejected = post(server, "<parent/>", "<child3/>").get(10, TimeUnit.SECONDS);
+            assertEquals(503, rejected.statusCode());
+            assertTrue(rejected.body().contains("Analysis queue is full"));
+
+            release.countDown();
+            assertEquals(200, running.get(10, TimeUnit.SECONDS).statusCode());
+            assertEquals(200, queued.get(10, TimeUnit.SECONDS).statusCode());
+            assertEquals(2, calls.get());
+        } finally {
+            release.countDown();
+            server.stop();
+        }
+    }
+
+    @Test
+    public void malformedXmlIsBadRequest() throws Exception {
+        InheritanceHttpServer server = new InheritanceHttpServer(0, new AnalysisService(1, 1, 10));
+        server.start();
+        try {
+            HttpResponse<String> response = post(server, "<net><place", "<net/>").get(10, TimeUnit.SECONDS);
+
+            assertEquals(400, response.statusCode());
+            assertTrue(response.body().contains("Invalid Petri net XML"));
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void missingFieldIsBadRequest() throws Exception {
+        InheritanceHttpServer server = new InheritanceHttpServer(0, new AnalysisService(1, 1, 10));
+        server.start();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(analyzeUri(server))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString("parent=x"))
+                    .build();
+
+            assertEquals(400, client.send(request, HttpResponse.BodyHandlers.ofString()).statusCode());
+        } finally {
+            server.stop();
+        }
+    }
+}
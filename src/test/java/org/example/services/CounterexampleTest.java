@@ -0,0 +1,170 @@
+package org.example.services;
+
+import org.example.objects.PetriNet;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class CounterexampleTest {
+
+    private static final List<String> PARENT_PLACES = Arrays.asList("s", "m", "x", "y", "e", "f");
+
+    /** Do {@code e} vedie krátka cesta a–b aj dlhšia c–d–g, z {@code e} pokračuje prechod z. */
+    private static TestNets parentWithoutFinalStep() {
+        TestNets builder = TestNets.builder();
+        for (String place : PARENT_PLACES) {
+            builder.place(place, place.equals("s") ? 1 : 0);
+        }
+        return builder
+                .transition("a", "s", "m")
+                .transition("b", "m", "e")
+                .transition("c", "s", "x")
+                .transition("d", "x", "y")
+                .transition("g", "y", "e");
+    }
+
+    private static Map<String, Integer> only(String marked) {
+        Map<String, Integer> marking = new HashMap<>();
+        for (String place : PARENT_PLACES) {
+            marking.put(place, place.equals(marked) ? 1 : 0);
+        }
+        return marking;
+    }
+
+    private static void assertTrace(List<TraceStep> trace, String... stepsAndMarkedPlaces) {
+        assertEquals(stepsAndMarkedPlaces.length / 2, trace.size());
+        for (int i = 0; i < trace.size(); i++) {
+            assertEquals(stepsAndMarkedPlaces[2 * i], trace.get(i).getTransitionId());
+            assertEquals(only(stepsAndMarkedPlaces[2 * i + 1]), trace.get(i).getMarking());
+        }
+    }
+
+    @Test
+    public void shortestPathTreeFollowsBfsDiscovery() {
+        ShortestPathTree paths = PetriNetUtils.explore(parentWithoutFinalStep().build()).getPaths();
+
+        List<Map<String, Integer>> order = paths.getMarkingsInBfsOrder();
+        assertEquals(Arrays.asList(only("s"), only("m"), only("x"), only("e"), only("y")), order);
+        assertTrace(paths.pathTo(only("s")), null, "s");
+        assertTrace(paths.pathTo(only("e")), null, "s", "a", "m", "b", "e");
+        assertTrace(paths.pathTo(only("y")), null, "s", "c", "x", "d", "y");
+        assertTrace(paths.pathThrough(only("y"), "g", only("e")), null, "s", "c", "x", "d", "y", "g", "e");
+    }
+
+    @Test
+    public void protocolCounterexampleIsShortestTrace() {
+        ReachabilityExploration parent = PetriNetUtils.explore(parentWithoutFinalStep()
+                .transition("z", "e", "f").build());
+        ReachabilityExploration child = PetriNetUtils.explore(parentWithoutFinalStep().build());
+
+        Counterexample counterexample = PetriNetUtils.findProtocolCounterexample(parent, child);
+
+        assertNotNull(counterexample);
+        assertTrue(counterexample.getReason().startsWith("Child cannot fire 'z'"));
+        assertTrace(counterexample.getTrace(), null, "s", "a", "m", "b", "e", "z", "f");
+    }
+
+    @Test
+    public void projectionCounterexampleIsShortestTrace() {
+        ReachabilityExploration parent = PetriNetUtils.explore(parentWithoutFinalStep()
+                .transition("z", "e", "f").build());
+        // Dieťa odpáli z do vlastného miesta w, z ktorého sa tichým krokom do f nedostane.
+        ReachabilityExploration child = PetriNetUtils.explore(parentWithoutFinalStep()
+                .place("w", 0)
+                .transition("z", "e", "w").build());
+
+        Counterexample counterexample = PetriNetUtils.findProjectionCounterexample(parent, child,
+                new AnalysisMetrics());
+
+        assertNotNull(counterexample);
+        assertTrue(counterexample.getReason().startsWith("Child cannot simulate 'z'"));
+        assertTrace(counterexample.getTrace(), null, "s", "a", "m", "b", "e", "z", "f");
+    }
+
+    @Test
+    public void projectionCounterexampleWithoutPathTreeHasEmptyTrace() {
+        ReachabilityExploration parent = PetriNetUtils.explore(parentWithoutFinalStep()
+                .transition("z", "e", "f").build());
+        ReachabilityExploration child = PetriNetUtils.explore(parentWithoutFinalStep().build());
+
+        Counterexample counterexample = new ProjectionInheritanceChecker().findProjectionCounterexample(
+                parent.getGraph(), null, child.getGraph(), parent.getTransitionIds(), new AnalysisMetrics());
+
+        assertNotNull(counterexample);
+        assertTrue(counterexample.getTrace().isEmpty());
+    }
+
+    @Test
+    public void traceIsUnmodifiable() {
+        List<TraceStep> steps = new ArrayList<>();
+        steps.add(new TraceStep(null, only("s")));
+        Counterexample counterexample = new Counterexample("reason", steps);
+
+        assertThrows(UnsupportedOperationException.class,
+                () -> counterexample.getTrace().add(new TraceStep("a", only("m"))));
+        assertEquals("reason" + System.lineSeparator() + "  " + only("s"), counterexample.toString());
+    }
+
+    /** Kruh p0 –t0→ p1 –t1→ p0 s jedným tokenom. */
+    private static PetriNet cycle() {
+        return TestNets.builder()
+                .place("p0", 1).place("p1", 0)
+                .transition("t0", "p0", "p1")
+                .transition("t1", "p1", "p0")
+                .build();
+    }
+
+    @Test
+    public void identicalChildIsProtocolHeir() {
+        InheritanceResult result = PetriNetUtils.determineInheritanceType(cycle(), cycle());
+
+        assertEquals(InheritanceType.PROTOCOL, result.getType());
+        assertEquals("Protocol Inheritance", result.getVerdict());
+        assertNull(result.getProtocolCounterexample());
+        assertNull(result.getProjectionCounterexample());
+    }
+
+    @Test
+    public void childWithTauDetourIsProjectionHeir() {
+        PetriNet child = TestNets.builder()
+                .place("p0", 1).place("p1", 0).place("q", 0)
+                .transition("t0", "p0", "q")
+                .transition("u", "q", "p1")
+                .transition("t1", "p1", "p0")
+                .build();
+
+        InheritanceResult result = PetriNetUtils.determineInheritanceType(cycle(), child);
+
+        assertEquals(InheritanceType.PROJECTION, result.getType());
+        assertEquals("Projection Inheritance", result.getVerdict());
+        assertFalse(result.isProtocolInheritance());
+        assertTrue(result.isProjectionInheritance());
+        assertEquals("t0", result.getProtocolCounterexample().getTrace().get(1).getTransitionId());
+    }
+
+    @Test
+    public void childMissingParentTransitionInheritsNothing() {
+        PetriNet child = TestNets.builder()
+                .place("p0", 1).place("p1", 0)
+                .transition("t0", "p0", "p1")
+                .build();
+
+        InheritanceResult result = PetriNetUtils.determineInheritanceType(cycle(), child);
+
+        assertEquals(InheritanceType.NONE, result.getType());
+        assertEquals("No Inheritance", result.getVerdict());
+        assertNotNull(result.getProtocolCounterexample());
+        assertNotNull(result.getProjectionCounterexample());
+    }
+}
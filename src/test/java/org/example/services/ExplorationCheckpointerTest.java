@@ -0,0 +1,117 @@
+package org.example.services;
+
+import org.example.objects.PetriNet;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertThrows;
+
+public class ExplorationCheckpointerTest {
+
+    private static Path checkpointFile() throws IOException {
+        Path dir = Files.createTempDirectory("checkpoint-test");
+        dir.toFile().deleteOnExit();
+        return dir.resolve("exploration.ckpt");
+    }
+
+    private static ReachabilityExploration explore(PetriNet net, ExplorationCheckpointer checkpointer) {
+        return PetriNetUtils.explore(net, PetriNetUtils.DEFAULT_MAX_STATES, checkpointer);
+    }
+
+    /** Preruší prehľadávanie na limite stavov; interval 0 zapisuje snímku po každom rozvinutom stave. */
+    private static void interrupt(PetriNet net, Path file, int maxStates) {
+        assertThrows(IllegalStateException.class,
+                () -> PetriNetUtils.explore(net, maxStates, new ExplorationCheckpointer(file, 0)));
+        assertTrue(Files.exists(file));
+    }
+
+    @Test
+    public void resumedExplorationEqualsUninterruptedOne() throws IOException {
+        PetriNet net = TestNets.ring(6, 4);
+        Path file = checkpointFile();
+        ReachabilityExploration expected = PetriNetUtils.explore(net);
+
+        interrupt(net, file, 50);
+        ReachabilityExploration resumed = explore(net, new ExplorationCheckpointer(file, 0));
+
+        assertEquals(expected.getGraph(), resumed.getGraph());
+        assertEquals(expected.getStats().getStates(), resumed.getStats().getStates());
+        assertEquals(expected.getStats().getEdges(), resumed.getStats().getEdges());
+        assertEquals(expected.getPaths().getMarkingsInBfsOrder(), resumed.getPaths().getMarkingsInBfsOrder());
+        for (Map<String, Integer> marking : expected.getPaths().getMarkingsInBfsOrder()) {
+            assertEquals(expected.getPaths().pathTo(marking).toString(), resumed.getPaths().pathTo(marking).toString());
+        }
+        assertFalse("checkpoint is removed after a completed run", Files.exists(file));
+    }
+
+    @Test
+    public void tornLastSegmentIsDiscardedOnResume() throws IOException {
+        PetriNet net = TestNets.ring(6, 4);
+        Path file = checkpointFile();
+        interrupt(net, file, 50);
+        long complete = Files.size(file);
+        // koniec posledného segmentu chýba, ako po páde počas zápisu
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(complete - 3);
+        }
+
+        ReachabilityExploration resumed = explore(net, new ExplorationCheckpointer(file, 0));
+
+        ReachabilityExploration expected = PetriNetUtils.explore(net);
+        assertEquals(expected.getGraph(), resumed.getGraph());
+        assertEquals(expected.getPaths().getMarkingsInBfsOrder(), resumed.getPaths().getMarkingsInBfsOrder());
+    }
+
+    @Test
+    public void eachCheckpointAppendsOnlyNewStates() throws IOException {
+        PetriNet net = TestNets.ring(6, 4);
+        Path file = checkpointFile();
+        ExplorationCheckpointer first = new ExplorationCheckpointer(file, 0);
+        assertThrows(IllegalStateException.class, () -> PetriNetUtils.explore(net, 50, first));
+        byte[] afterFirstRun = Files.readAllBytes(file);
+
+        // Pokračovanie s vyšším limitom pridá ďalšie segmenty za existujúce a tie nechá bez zmeny.
+        ExplorationCheckpointer second = new ExplorationCheckpointer(file, 0);
+        assertThrows(IllegalStateException.class, () -> PetriNetUtils.explore(net, 80, second));
+        byte[] afterSecondRun = Files.readAllBytes(file);
+
+        assertTrue(first.getCheckpointsWritten() > 0);
+        assertTrue(second.getCheckpointsWritten() > 0);
+        assertTrue(afterSecondRun.length > afterFirstRun.length);
+        assertArrayEquals(afterFirstRun, Arrays.copyOf(afterSecondRun, afterFirstRun.length));
+        assertEquals(126, explore(net, new ExplorationCheckpointer(file, 0)).getGraph().size());
+    }
+
+    @Test
+    public void checkpointOfDifferentNetIsRejected() throws IOException {
+        PetriNet net = TestNets.ring(6, 4);
+        Path file = checkpointFile();
+        interrupt(net, file, 50);
+
+        assertThrows(IllegalStateException.class,
+                () -> explore(TestNets.ring(5, 2), new ExplorationCheckpointer(file, 0)));
+
+        assertTrue("rejected checkpoint is kept", Files.exists(file));
+        assertEquals(126, explore(net, new ExplorationCheckpointer(file, 0)).getGraph().size());
+    }
+
+    @Test
+    public void checkpointerCanBeReused() throws IOException {
+        PetriNet net = TestNets.ring(6, 4);
+        ExplorationCheckpointer checkpointer = new ExplorationCheckpointer(checkpointFile(), 0);
+
+        assertEquals(126, explore(net, checkpointer).getGraph().size());
+        assertEquals(3, explore(TestNets.ring(3, 1), checkpointer).getGraph().size());
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.services;
+
+import org.example.objects.PetriNet;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class FingerprintExplorerTest {
+
+    @Test
+    public void hashCompactionMatchesExactExploration() {
+        PetriNet net = TestNets.ring(6, 4);
+        ReachabilityExploration exact = PetriNetUtils.explore(net);
+
+        FingerprintExplorationResult result = PetriNetUtils.generateReachabilityGraph(net,
+                ExplorationMode.HASH_COMPACTION);
+
+        assertEquals(126, exact.getGraph().size());
+        assertEquals(exact.getStats().getStates(), result.getStatesStored());
+        assertEquals(exact.getStats().getEdges(), result.getEdgesExplored());
+        assertTrue(result.isComplete());
+    }
+
+    @Test
+    public void bitstateMatchesExactExplorationOnSmallNet() {
+        PetriNet net = TestNets.builder()
+                .place("start", 2).place("a", 0).place("b", 0).place("end", 0)
+                .transition("split", "start", "a")
+                .transition("skip", "start", "b")
+                .transition("join", "a", "b")
+                .transition("finish", "b", "end")
+                .build();
+        Map<Map<String, Integer>, ?> exact = PetriNetUtils.generateReachabilityGraph(net);
+
+        FingerprintExplorationResult result = PetriNetUtils.generateReachabilityGraph(net, ExplorationMode.BITSTATE);
+
+        assertEquals(exact.size(), result.getStatesStored());
+        assertTrue(result.isComplete());
+        assertTrue(result.getExpectedOmittedStates() < 1e-6);
+    }
+
+    @Test
+    public void stopsExactlyAtStateLimit() {
+        FingerprintExplorationResult result = new FingerprintExplorer(ExplorationMode.HASH_COMPACTION, 20, 100)
+                .explore(TestNets.ring(6, 4));
+
+        assertEquals(100, result.getStatesStored());
+        assertFalse(result.isComplete());
+    }
+
+    @Test
+    public void reportsDepthLimit() {
+        FingerprintExplorationResult result = new FingerprintExplorer(ExplorationMode.HASH_COMPACTION, 20, 1_000, 10)
+                .explore(TestNets.ring(6, 4));
+
+        assertTrue(result.isDepthLimitReached());
+        assertFalse(result.isComplete());
+        assertEquals(10, result.getPeakStackDepth());
+    }
+
+    @Test
+    public void rejectsStateLimitBeyondCompactedTableCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new FingerprintExplorer(ExplorationMode.HASH_COMPACTION,
+                FingerprintExplorer.DEFAULT_LOG2_BITS, FingerprintExplorer.MAX_COMPACTED_STATES + 1));
+        new FingerprintExplorer(ExplorationMode.BITSTATE,
+                FingerprintExplorer.DEFAULT_LOG2_BITS, FingerprintExplorer.MAX_COMPACTED_STATES + 1);
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.services;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GraphvizExporterTest {
+
+    private static IndexedGraph graph(TestNets net) {
+        return PetriNetUtils.explore(net.build()).getIndexedGraph();
+    }
+
+    @Test
+    public void tauComponentIsCollapsedIntoOneNode() throws IOException {
+        // s0 –a→ s1 ⇄ s2 (tau u, v), s2 –b→ s3
+        IndexedGraph graph = graph(TestNets.builder()
+                .place("s", 1).place("x", 0).place("y", 0).place("e", 0)
+                .transition("a", "s", "x")
+                .transition("u", "x", "y")
+                .transition("v", "y", "x")
+                .transition("b", "y", "e"));
+        StringWriter out = new StringWriter();
+
+        int nodes = new GraphvizExporter(graph)
+                .collapseTauComponents(new HashSet<>(Arrays.asList("a", "b")))
+                .write(out);
+
+        String dot = out.toString();
+        assertEquals(3, nodes);
+        assertTrue(dot.contains("  s0 [label=\"s=1\", penwidth=2];\n"));
+        assertTrue(dot.contains("  s1 [label=\"x=1\\n(2 states via τ)\"];\n"));
+        assertTrue(dot.contains("  s0 -> s1 [label=\"a\"];\n"));
+        assertTrue(dot.contains("  s1 -> s3 [label=\"b\"];\n"));
+        assertFalse(dot.contains("s2"));
+        assertFalse(dot.contains("τ("));
+    }
+
+    @Test
+    public void statesAreClusteredByProjection() throws IOException {
+        // p0 –t0→ q1 –u→ q2 –w→ p1; stavy s1 a s2 majú rovnakú projekciu na {p0, p1}
+        IndexedGraph graph = graph(TestNets.builder()
+                .place("p0", 1).place("p1", 0).place("q1", 0).place("q2", 0)
+                .transition("t0", "p0", "q1")
+                .transition("u", "q1", "q2")
+                .transition("w", "q2", "p1"));
+        StringWriter out = new StringWriter();
+
+        int nodes = new GraphvizExporter(graph)
+                .clusterByProjection(new HashSet<>(Arrays.asList("p0", "p1")))
+                .write(out);
+
+        String dot = out.toString();
+        assertEquals(4, nodes);
+        assertTrue(dot.contains("  subgraph cluster_0 {\n"
+                + "    label=\"p0=1\"; style=rounded; color=gray;\n"
+                + "    s0 [label=\"p0=1\", penwidth=2];\n"
+                + "  }\n"));
+        assertTrue(dot.contains("  subgraph cluster_1 {\n"
+                + "    label=\"∅\"; style=rounded; color=gray;\n"
+                + "    s1 [label=\"q1=1\"];\n"
+                + "    s2 [label=\"q2=1\"];\n"
+                + "  }\n"));
+        assertTrue(dot.contains("  subgraph cluster_2 {\n"
+                + "    label=\"p1=1\"; style=rounded; color=gray;\n"
+                + "    s3 [label=\"p1=1\"];\n"
+                + "  }\n"));
+        assertFalse(dot.contains("cluster_3"));
+    }
+
+    @Test
+    public void outputIsRestrictedToCounterexampleNeighbourhood() throws IOException {
+        // reťaz p0 → p1 → … → p6, protipríklad končí v s3
+        TestNets net = TestNets.builder();
+        for (int i = 0; i <= 6; i++) {
+            net.place("p" + i, i == 0 ? 1 : 0);
+        }
+        for (int i = 0; i < 6; i++) {
+            net.transition("t" + i, "p" + i, "p" + (i + 1));
+        }
+        IndexedGraph graph = graph(net);
+        Counterexample counterexample = new Counterexample("test",
+                Collections.singletonList(new TraceStep(null, graph.marking(3))));
+        StringWriter out = new StringWriter();
+
+        int nodes = new GraphvizExporter(graph)
+                .restrictToCounterexample(counterexample, 1)
+                .write(out);
+
+        String dot = out.toString();
+        assertEquals(3, nodes);
+        assertTrue(dot.contains("  s2 [label=\"p2=1\"];\n"));
+        assertTrue(dot.contains("  s3 [label=\"p3=1\"];\n"));
+        assertTrue(dot.contains("  s4 [label=\"p4=1\"];\n"));
+        assertTrue(dot.contains("  s2 -> s3 [label=\"t2\"];\n"));
+        assertTrue(dot.contains("  s3 -> s4 [label=\"t3\"];\n"));
+        assertFalse(dot.contains("s1"));
+        assertFalse(dot.contains("s5"));
+    }
+}
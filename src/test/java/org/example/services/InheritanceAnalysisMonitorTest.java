@@ -0,0 +1,75 @@
+package org.example.services;
+
+import org.example.objects.PetriNet;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class InheritanceAnalysisMonitorTest {
+
+    /** Rodič: voľba a alebo b z p0 do p1, návrat t1. */
+    private static PetriNet parent() {
+        return TestNets.builder()
+                .place("p0", 1).place("p1", 0)
+                .transition("a", "p0", "p1")
+                .transition("b", "p0", "p1")
+                .transition("t1", "p1", "p0")
+                .build();
+    }
+
+    /** Dieťa: a aj b vedú do q a odtiaľ tichý prechod u do p1 – tau-uzáver stavu q sa použije dvakrát. */
+    private static PetriNet child() {
+        return TestNets.builder()
+                .place("p0", 1).place("p1", 0).place("q", 0)
+                .transition("a", "p0", "q")
+                .transition("b", "p0", "q")
+                .transition("u", "q", "p1")
+                .transition("t1", "p1", "p0")
+                .build();
+    }
+
+    @Test
+    public void metricsAreRecordedAndExposedOverJmx() throws Exception {
+        InheritanceAnalysisMonitor.register();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(InheritanceAnalysisMonitor.OBJECT_NAME);
+        long completedBefore = (Long) server.getAttribute(name, "AnalysesCompleted");
+        AnalysisMetrics metrics = new AnalysisMetrics();
+
+        InheritanceResult result = PetriNetUtils.determineInheritanceType(parent(), child(), metrics);
+
+        assertEquals(InheritanceType.PROJECTION, result.getType());
+        for (AnalysisPhase phase : new AnalysisPhase[]{AnalysisPhase.PARENT_EXPLORATION,
+                AnalysisPhase.CHILD_EXPLORATION, AnalysisPhase.PROTOCOL_CHECK, AnalysisPhase.PROJECTION_CHECK}) {
+            assertTrue(phase + " was not timed", metrics.getPhaseNanos().get(phase) > 0);
+        }
+        assertFalse(metrics.getPhaseNanos().containsKey(AnalysisPhase.PARSE));
+
+        assertEquals(2, metrics.getParentExploration().getStates());
+        assertEquals(3, metrics.getParentExploration().getEdges());
+        assertEquals(3, metrics.getChildExploration().getStates());
+        assertEquals(4, metrics.getChildExploration().getEdges());
+        assertEquals(3, metrics.getTauClosures());
+        assertEquals(1, metrics.getTauClosureCacheHits());
+        assertEquals(2, metrics.getTauClosureCacheMisses());
+
+        assertEquals(completedBefore + 1, server.getAttribute(name, "AnalysesCompleted"));
+        assertEquals(2L, server.getAttribute(name, "LastParentStates"));
+        assertEquals(3L, server.getAttribute(name, "LastParentEdges"));
+        assertEquals(3L, server.getAttribute(name, "LastChildStates"));
+        assertEquals(4L, server.getAttribute(name, "LastChildEdges"));
+        assertEquals(3L, server.getAttribute(name, "LastTauClosures"));
+        assertEquals(1.0 / 3, (Double) server.getAttribute(name, "LastTauClosureCacheHitRate"), 1e-9);
+        assertEquals(metrics.getPhaseMillis(AnalysisPhase.PROTOCOL_CHECK),
+                server.getAttribute(name, "LastProtocolCheckMillis"));
+        assertEquals(metrics.getPhaseMillis(AnalysisPhase.PROJECTION_CHECK),
+                server.getAttribute(name, "LastProjectionCheckMillis"));
+        assertEquals(0L, server.getAttribute(name, "LastParseMillis"));
+    }
+}
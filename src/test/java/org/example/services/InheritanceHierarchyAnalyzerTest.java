@@ -0,0 +1,80 @@
+package org.example.services;
+
+import org.example.objects.PetriNet;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class InheritanceHierarchyAnalyzerTest {
+
+    /** Kruh p0 ⇄ p1, pri ktorom každý ďalší potomok pridá jedno miesto a mŕtvy prechod. */
+    private static TestNets cycle() {
+        return TestNets.builder()
+                .place("p0", 1).place("p1", 0)
+                .transition("t0", "p0", "p1")
+                .transition("t1", "p1", "p0");
+    }
+
+    /** Rodina v poradí rodič, dieťa, vnuk; posledná sieť dedí len projekčne (t0 cez tichý krok u). */
+    private static Map<String, PetriNet> family() {
+        Map<String, PetriNet> nets = new LinkedHashMap<>();
+        nets.put("A", cycle().build());
+        nets.put("B", cycle().place("r", 0).transition("x", "r", "p0").build());
+        nets.put("C", cycle().place("r", 0).transition("x", "r", "p0")
+                .place("s", 0).transition("y", "s", "r").build());
+        nets.put("D", TestNets.builder()
+                .place("p0", 1).place("p1", 0).place("q", 0)
+                .transition("t0", "p0", "q")
+                .transition("u", "q", "p1")
+                .transition("t1", "p1", "p0")
+                .build());
+        return nets;
+    }
+
+    @Test
+    public void derivedCellsMatchDirectChecks() {
+        Map<String, PetriNet> nets = family();
+
+        InheritanceHierarchy hierarchy = new InheritanceHierarchyAnalyzer(2, true).analyze(nets);
+
+        assertEquals("B", hierarchy.getDerivedVia("A", "C"));
+        assertEquals(InheritanceType.PROTOCOL, hierarchy.getType("A", "C"));
+        int derived = 0;
+        for (String parent : nets.keySet()) {
+            for (String child : nets.keySet()) {
+                if (!parent.equals(child) && hierarchy.getDerivedVia(parent, child) != null) {
+                    derived++;
+                    assertEquals(parent + " -> " + child,
+                            PetriNetUtils.determineInheritanceType(nets.get(parent), nets.get(child)).getType(),
+                            hierarchy.getType(parent, child));
+                }
+            }
+        }
+        assertTrue(derived > 1);
+    }
+
+    @Test
+    public void resultDoesNotDependOnParallelism() {
+        Map<String, PetriNet> nets = family();
+
+        InheritanceHierarchy sequential = new InheritanceHierarchyAnalyzer(1, true).analyze(nets);
+        InheritanceHierarchy parallel = new InheritanceHierarchyAnalyzer(4, true).analyze(nets);
+        InheritanceHierarchy direct = new InheritanceHierarchyAnalyzer(4, false).analyze(nets);
+
+        for (String parent : nets.keySet()) {
+            for (String child : nets.keySet()) {
+                if (!parent.equals(child)) {
+                    String pair = parent + " -> " + child;
+                    assertEquals(pair, sequential.getType(parent, child), parallel.getType(parent, child));
+                    assertEquals(pair, sequential.getDerivedVia(parent, child), parallel.getDerivedVia(parent, child));
+                    assertEquals(pair, direct.getType(parent, child), parallel.getType(parent, child));
+                }
+            }
+        }
+        assertEquals(sequential.toString(), parallel.toString());
+    }
+}
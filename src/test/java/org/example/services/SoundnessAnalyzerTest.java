@@ -0,0 +1,87 @@
+package org.example.services;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SoundnessAnalyzerTest {
+
+    @Test
+    public void ringIsLiveAndDeadlockFree() {
+        SoundnessReport report = PetriNetUtils.explore(TestNets.ring(4, 2)).getSoundnessReport();
+
+        assertTrue(report.isDeadlockFree());
+        assertTrue(report.isLive());
+        assertEquals(1, report.getTerminalComponents());
+        assertTrue(report.getDeadTransitions().isEmpty());
+        assertNull(report.getDeadlockTrace());
+    }
+
+    @Test
+    public void sequenceEndsInDeadlockWithShortestTrace() {
+        SoundnessReport report = PetriNetUtils.explore(TestNets.builder()
+                .place("s", 1).place("m", 0).place("e", 0).place("q", 0)
+                .transition("a", "s", "m")
+                .transition("b", "m", "e")
+                .transition("never", "q", "e")
+                .build()).getSoundnessReport();
+
+        assertFalse(report.isDeadlockFree());
+        assertEquals(1, report.getDeadlockCount());
+        assertEquals(1, report.getDeadlocks().get(0).get("e").intValue());
+
+        List<TraceStep> trace = report.getDeadlockTrace();
+        assertEquals(3, trace.size());
+        assertNull(trace.get(0).getTransitionId());
+        assertEquals("a", trace.get(1).getTransitionId());
+        assertEquals("b", trace.get(2).getTransitionId());
+        assertEquals(report.getDeadlocks().get(0), trace.get(2).getMarking());
+
+        assertEquals(Collections.singleton("never"), report.getDeadTransitions());
+        assertEquals(new HashSet<>(Arrays.asList("a", "b", "never")), report.getNonLiveTransitions());
+        assertFalse(report.isLive());
+    }
+
+    @Test
+    public void transitionOutsideTerminalComponentIsNotLive() {
+        SoundnessReport report = PetriNetUtils.explore(TestNets.builder()
+                .place("p0", 1).place("p1", 0).place("p2", 0)
+                .transition("a", "p0", "p1")
+                .transition("b", "p1", "p2")
+                .transition("c", "p2", "p1")
+                .build()).getSoundnessReport();
+
+        assertTrue(report.isDeadlockFree());
+        assertEquals(2, report.getComponents());
+        assertEquals(1, report.getTerminalComponents());
+        assertTrue(report.getDeadTransitions().isEmpty());
+        assertEquals(Collections.singleton("a"), report.getNonLiveTransitions());
+        assertFalse(report.isLive());
+    }
+
+    @Test
+    public void choiceBetweenCycleAndDeadlock() {
+        SoundnessReport report = PetriNetUtils.explore(TestNets.builder()
+                .place("s", 1).place("x", 0).place("y", 0).place("z", 0)
+                .transition("a", "s", "x")
+                .transition("d", "s", "y")
+                .transition("b", "x", "z")
+                .transition("c", "z", "x")
+                .build()).getSoundnessReport();
+
+        assertEquals(4, report.getStates());
+        assertEquals(2, report.getTerminalComponents());
+        assertEquals(1, report.getDeadlockCount());
+        assertEquals(2, report.getDeadlockTrace().size());
+        assertEquals(new HashSet<>(Arrays.asList("a", "b", "c", "d")), report.getNonLiveTransitions());
+        assertTrue(report.getDeadTransitions().isEmpty());
+    }
+}
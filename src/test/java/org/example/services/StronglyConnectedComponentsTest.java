@@ -0,0 +1,63 @@
+package org.example.services;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class StronglyConnectedComponentsTest {
+
+    @Test
+    public void cycleIsOneComponent() {
+        IndexedGraph graph = PetriNetUtils.explore(TestNets.ring(3, 1)).getIndexedGraph();
+
+        StronglyConnectedComponents sccs = new StronglyConnectedComponents(graph);
+
+        assertEquals(3, graph.stateCount());
+        assertEquals(1, sccs.getComponentCount());
+        assertEquals(3, sccs.getComponentSize(sccs.getComponent(0)));
+    }
+
+    @Test
+    public void sequenceHasOneComponentPerState() {
+        IndexedGraph graph = PetriNetUtils.explore(TestNets.builder()
+                .place("s", 1).place("m", 0).place("e", 0)
+                .transition("a", "s", "m")
+                .transition("b", "m", "e")
+                .build()).getIndexedGraph();
+
+        StronglyConnectedComponents sccs = new StronglyConnectedComponents(graph);
+
+        assertEquals(3, sccs.getComponentCount());
+        for (int s = 0; s < graph.stateCount(); s++) {
+            assertEquals(1, sccs.getComponentSize(sccs.getComponent(s)));
+        }
+    }
+
+    @Test
+    public void transientPrefixIsSeparatedFromCycle() {
+        IndexedGraph graph = PetriNetUtils.explore(TestNets.builder()
+                .place("p0", 1).place("p1", 0).place("p2", 0)
+                .transition("a", "p0", "p1")
+                .transition("b", "p1", "p2")
+                .transition("c", "p2", "p1")
+                .build()).getIndexedGraph();
+
+        StronglyConnectedComponents sccs = new StronglyConnectedComponents(graph);
+
+        assertEquals(2, sccs.getComponentCount());
+        assertEquals(1, sccs.getComponentSize(sccs.getComponent(0)));
+        assertEquals(sccs.getComponent(1), sccs.getComponent(2));
+        assertTrue(sccs.getComponent(0) != sccs.getComponent(1));
+    }
+
+    @Test
+    public void edgeFilterIgnoresExcludedEdges() {
+        IndexedGraph graph = PetriNetUtils.explore(TestNets.ring(3, 1)).getIndexedGraph();
+
+        StronglyConnectedComponents sccs = new StronglyConnectedComponents(graph,
+                e -> !graph.label(graph.edgeLabel(e)).equals("t0"));
+
+        assertEquals(3, sccs.getComponentCount());
+    }
+}
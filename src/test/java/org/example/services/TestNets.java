@@ -0,0 +1,59 @@
+package org.example.services;
+
+import org.example.objects.Arc;
+import org.example.objects.PetriNet;
+import org.example.objects.Place;
+import org.example.objects.Transition;
+
+import java.util.ArrayList;
+
+/**
+ * Malé ručne zostavené siete pre testy.
+ */
+final class TestNets {
+
+    private final PetriNet net = new PetriNet();
+
+    private TestNets() {
+        net.setPlaces(new ArrayList<>());
+        net.setTransitions(new ArrayList<>());
+        net.setArcs(new ArrayList<>());
+    }
+
+    static TestNets builder() {
+        return new TestNets();
+    }
+
+    TestNets place(String id, int tokens) {
+        net.getPlaces().add(new Place(id, tokens));
+        return this;
+    }
+
+    /** Prechod s jedným vstupným a jedným výstupným miestom (každé môže byť {@code null}). */
+    TestNets transition(String id, String from, String to) {
+        net.getTransitions().add(new Transition(id));
+        if (from != null) {
+            net.getArcs().add(new Arc(from, id, 1));
+        }
+        if (to != null) {
+            net.getArcs().add(new Arc(id, to, 1));
+        }
+        return this;
+    }
+
+    PetriNet build() {
+        return net;
+    }
+
+    /** Kruh {@code n} miest a prechodov, v ktorom obieha {@code k} tokenov – má C(n+k-1, k) stavov. */
+    static PetriNet ring(int n, int k) {
+        TestNets builder = builder();
+        for (int i = 0; i < n; i++) {
+            builder.place("p" + i, i == 0 ? k : 0);
+        }
+        for (int i = 0; i < n; i++) {
+            builder.transition("t" + i, "p" + i, "p" + ((i + 1) % n));
+        }
+        return builder.build();
+    }
+}